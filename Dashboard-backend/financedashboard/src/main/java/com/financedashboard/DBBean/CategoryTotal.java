@@ -0,0 +1,8 @@
+package com.financedashboard.DBBean;
+
+// Projection returned by the category GROUP BY queries on the tracker repositories.
+public interface CategoryTotal {
+    String getCategory();
+    Long getTotal();
+    Long getEntries();
+}
@@ -0,0 +1,12 @@
+package com.financedashboard.DBBean;
+
+import java.time.LocalDate;
+
+// Projection of per-day, per-category totals kept apart by currency, for conversion before summing.
+public interface DayCategoryCurrencyTotal {
+    LocalDate getBookedOn();
+    String getCategory();
+    String getCurrency();
+    Long getTotal();
+    Long getEntries();
+}
@@ -0,0 +1,10 @@
+package com.financedashboard.DBBean;
+
+import java.time.LocalDate;
+
+// Projection returned by the per-day GROUP BY queries on the tracker repositories.
+public interface DayTotal {
+    LocalDate getBookedOn();
+    Long getTotal();
+    Long getEntries();
+}
@@ -1,11 +1,85 @@
 package com.financedashboard.DBBean;
 
+import com.financedashboard.dto.ExpenseView;
 import com.financedashboard.entities.Expense;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> getExpenseByUserId(Long userId);
+
+    @Query("select e.category as category, sum(e.amountMinor) as total, count(e) as entries from Expense e "
+            + "where e.userId = :userId and e.date between :from and :to "
+            + "group by e.category order by e.category")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select year(e.date) as yr, month(e.date) as mon, sum(e.amountMinor) as total, count(e) as entries from Expense e "
+            + "where e.userId = :userId and e.date between :from and :to "
+            + "group by year(e.date), month(e.date) order by year(e.date), month(e.date)")
+    List<MonthTotal> sumByMonth(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select e.date as bookedOn, sum(e.amountMinor) as total, count(e) as entries from Expense e "
+            + "where e.userId = :userId and e.date between :from and :to "
+            + "group by e.date order by e.date")
+    List<DayTotal> sumByDay(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Kept apart by currency so each day's total can be converted at that day's rate before summing.
+    @Query("select e.date as bookedOn, e.category as category, e.currency as currency, sum(e.amountMinor) as total, "
+            + "count(e) as entries from Expense e "
+            + "where e.userId = :userId and e.date between :from and :to "
+            + "group by e.date, e.category, e.currency order by e.date")
+    List<DayCategoryCurrencyTotal> sumByDayCategoryAndCurrency(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                                               @Param("to") LocalDate to);
+
+    // Read paths select straight into records: no managed entities, no dirty-checking snapshots.
+    @Query("select new com.financedashboard.dto.ExpenseView(e.id, e.userId, e.category, e.amountMinor, e.currency, e.date, e.description, e.version) "
+            + "from Expense e where e.userId = :userId order by e.date, e.id")
+    List<ExpenseView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.financedashboard.dto.ExpenseView(e.id, e.userId, e.category, e.amountMinor, e.currency, e.date, e.description, e.version) "
+            + "from Expense e order by e.id")
+    List<ExpenseView> findAllViews();
+
+    // Keyset page in (date, id) order: rows strictly after (afterDate, afterId) up to the "to" bound.
+    // The explicit date range lets Postgres prune the page to the partitions it can touch.
+    @Query("select new com.financedashboard.dto.ExpenseView(e.id, e.userId, e.category, e.amountMinor, e.currency, e.date, e.description, e.version) "
+            + "from Expense e where e.userId = :userId and e.date between :afterDate and :to "
+            + "and (e.date > :afterDate or (e.date = :afterDate and e.id > :afterId)) "
+            + "and (:category is null or e.category = :category) "
+            + "order by e.date, e.id")
+    Slice<ExpenseView> findPageAfter(@Param("userId") Long userId, @Param("to") LocalDate to,
+                                     @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                     @Param("category") String category, Pageable pageable);
+
+    // Rollup pre-image of the rows a set-based delete is about to remove; only the owner's rows are counted.
+    @Query("select e.userId as userId, e.date as bookedOn, e.category as category, e.currency as currency, "
+            + "sum(e.amountMinor) as total, count(e) as entries "
+            + "from Expense e where e.id in :ids and e.userId = :userId "
+            + "group by e.userId, e.date, e.category, e.currency")
+    List<UserDayCategoryTotal> sumByIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from Expense e where e.id in :ids and e.userId = :userId")
+    int deleteByIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Read-only cursor for exports; the caller must consume it inside a transaction and close it.
+    // Rows without a date fall in no range; undated=true appends them after the dated ones.
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select e from Expense e where e.userId = :userId "
+            + "and (e.date between :from and :to or (:undated = true and e.date is null)) "
+            + "order by e.date nulls last, e.id")
+    Stream<Expense> streamByUserId(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+                               @Param("undated") boolean undated);
 }
@@ -0,0 +1,48 @@
+package com.financedashboard.DBBean;
+
+import com.financedashboard.dto.FxRate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// JDBC access to fx_rate. A reloaded day replaces the stored rate: ON CONFLICT on Postgres,
+// MERGE elsewhere (H2 in tests).
+@Repository
+public class FxRateRepository {
+
+    private static final String UPSERT_POSTGRES = "INSERT INTO fx_rate (currency, rate_date, rate) VALUES (?, ?, ?) "
+            + "ON CONFLICT (currency, rate_date) DO UPDATE SET rate = EXCLUDED.rate";
+
+    private static final String UPSERT_MERGE = "MERGE INTO fx_rate r "
+            + "USING (VALUES (CAST(? AS VARCHAR(3)), CAST(? AS DATE), CAST(? AS DOUBLE PRECISION))) AS d (currency, rate_date, rate) "
+            + "ON r.currency = d.currency AND r.rate_date = d.rate_date "
+            + "WHEN MATCHED THEN UPDATE SET rate = d.rate "
+            + "WHEN NOT MATCHED THEN INSERT (currency, rate_date, rate) VALUES (d.currency, d.rate_date, d.rate)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsert;
+
+    public FxRateRepository(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String jdbcUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsert = DatabaseDriver.fromJdbcUrl(jdbcUrl) == DatabaseDriver.POSTGRESQL ? UPSERT_POSTGRES : UPSERT_MERGE;
+    }
+
+    public void upsert(List<FxRate> rates) {
+        List<Object[]> rows = new ArrayList<>(rates.size());
+        for (FxRate rate : rates) {
+            rows.add(new Object[]{rate.currency(), rate.date(), rate.rate()});
+        }
+        jdbcTemplate.batchUpdate(upsert, rows);
+    }
+
+    // Ordered by currency and day, as FxRateTable expects.
+    public List<FxRate> findAll() {
+        return jdbcTemplate.query("SELECT currency, rate_date, rate FROM fx_rate ORDER BY currency, rate_date",
+                (rs, i) -> new FxRate(rs.getString(1), rs.getObject(2, LocalDate.class), rs.getDouble(3)));
+    }
+}
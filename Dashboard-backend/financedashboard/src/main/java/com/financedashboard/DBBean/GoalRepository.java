@@ -1,11 +1,47 @@
 package com.financedashboard.DBBean;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.financedashboard.dto.GoalView;
 import com.financedashboard.entities.Goal;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface GoalRepository extends JpaRepository<Goal, Long> {
      List<Goal> getGoalByUserId(Long userId);
-}
 
+    @Query("select new com.financedashboard.dto.GoalView(g.id, g.userId, g.category, g.amountMinor, g.currency, g.startDate, g.endDate, g.description, g.type, g.version) "
+            + "from Goal g where g.userId = :userId order by g.id")
+    List<GoalView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.financedashboard.dto.GoalView(g.id, g.userId, g.category, g.amountMinor, g.currency, g.startDate, g.endDate, g.description, g.type, g.version) "
+            + "from Goal g order by g.id")
+    List<GoalView> findAllViews();
+
+    // Goals whose [startDate, endDate] window overlaps the range; open ends count as overlapping.
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select g from Goal g where g.userId = :userId "
+            + "and (g.startDate is null or g.startDate <= :to) and (g.endDate is null or g.endDate >= :from) "
+            + "order by g.startDate, g.id")
+    Stream<Goal> streamByUserId(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // One-statement edit for a client that holds the row's owner and version; 0 means stale, missing
+    // or owned by someone else.
+    @Modifying
+    @Query("update Goal g set g.category = :category, g.amountMinor = :amountMinor, g.currency = :currency, "
+            + "g.startDate = :startDate, g.endDate = :endDate, g.description = :description, g.type = :type, "
+            + "g.version = g.version + 1 "
+            + "where g.id = :id and g.userId = :userId and g.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+                        @Param("category") String category, @Param("amountMinor") Long amountMinor, @Param("currency") String currency,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                        @Param("description") String description, @Param("type") String type);
+}
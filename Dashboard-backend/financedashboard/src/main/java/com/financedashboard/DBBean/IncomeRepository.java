@@ -1,10 +1,21 @@
 package com.financedashboard.DBBean;
 
+import com.financedashboard.dto.IncomeView;
 import com.financedashboard.entities.Income;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface IncomeRepository extends JpaRepository<Income, Long> {
      List<Income> getIncomeByUserId(Long userId);
@@ -15,4 +26,67 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
     // List<Income> findByDateBetween(LocalDate startDate, LocalDate endDate);
     // Note: JpaRepository already provides methods like findAll(), save(), deleteById(), etc.
     // You can also define custom query methods using Spring Data JPA's query derivation feature.
+
+    @Query("select i.category as category, sum(i.amountMinor) as total, count(i) as entries from Income i "
+            + "where i.userId = :userId and i.date between :from and :to "
+            + "group by i.category order by i.category")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select year(i.date) as yr, month(i.date) as mon, sum(i.amountMinor) as total, count(i) as entries from Income i "
+            + "where i.userId = :userId and i.date between :from and :to "
+            + "group by year(i.date), month(i.date) order by year(i.date), month(i.date)")
+    List<MonthTotal> sumByMonth(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select i.date as bookedOn, sum(i.amountMinor) as total, count(i) as entries from Income i "
+            + "where i.userId = :userId and i.date between :from and :to "
+            + "group by i.date order by i.date")
+    List<DayTotal> sumByDay(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Kept apart by currency so each day's total can be converted at that day's rate before summing.
+    @Query("select i.date as bookedOn, i.category as category, i.currency as currency, sum(i.amountMinor) as total, "
+            + "count(i) as entries from Income i "
+            + "where i.userId = :userId and i.date between :from and :to "
+            + "group by i.date, i.category, i.currency order by i.date")
+    List<DayCategoryCurrencyTotal> sumByDayCategoryAndCurrency(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                                               @Param("to") LocalDate to);
+
+    // Read paths select straight into records: no managed entities, no dirty-checking snapshots.
+    @Query("select new com.financedashboard.dto.IncomeView(i.id, i.userId, i.category, i.amountMinor, i.currency, i.date, i.description, i.version) "
+            + "from Income i where i.userId = :userId order by i.date, i.id")
+    List<IncomeView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.financedashboard.dto.IncomeView(i.id, i.userId, i.category, i.amountMinor, i.currency, i.date, i.description, i.version) "
+            + "from Income i order by i.id")
+    List<IncomeView> findAllViews();
+
+    // Keyset page in (date, id) order: rows strictly after (afterDate, afterId) up to the "to" bound.
+    // The explicit date range lets Postgres prune the page to the partitions it can touch.
+    @Query("select new com.financedashboard.dto.IncomeView(i.id, i.userId, i.category, i.amountMinor, i.currency, i.date, i.description, i.version) "
+            + "from Income i where i.userId = :userId and i.date between :afterDate and :to "
+            + "and (i.date > :afterDate or (i.date = :afterDate and i.id > :afterId)) "
+            + "and (:category is null or i.category = :category) "
+            + "order by i.date, i.id")
+    Slice<IncomeView> findPageAfter(@Param("userId") Long userId, @Param("to") LocalDate to,
+                                    @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                    @Param("category") String category, Pageable pageable);
+
+    // Rollup pre-image of the rows a set-based delete is about to remove; only the owner's rows are counted.
+    @Query("select i.userId as userId, i.date as bookedOn, i.category as category, i.currency as currency, "
+            + "sum(i.amountMinor) as total, count(i) as entries "
+            + "from Income i where i.id in :ids and i.userId = :userId "
+            + "group by i.userId, i.date, i.category, i.currency")
+    List<UserDayCategoryTotal> sumByIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from Income i where i.id in :ids and i.userId = :userId")
+    int deleteByIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Read-only cursor for exports; the caller must consume it inside a transaction and close it.
+    // Rows without a date fall in no range; undated=true appends them after the dated ones.
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select i from Income i where i.userId = :userId "
+            + "and (i.date between :from and :to or (:undated = true and i.date is null)) "
+            + "order by i.date nulls last, i.id")
+    Stream<Income> streamByUserId(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+                               @Param("undated") boolean undated);
 }
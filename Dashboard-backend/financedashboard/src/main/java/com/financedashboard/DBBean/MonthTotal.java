@@ -0,0 +1,9 @@
+package com.financedashboard.DBBean;
+
+// Projection returned by the year/month GROUP BY queries on the tracker repositories.
+public interface MonthTotal {
+    Integer getYr();
+    Integer getMon();
+    Long getTotal();
+    Long getEntries();
+}
@@ -0,0 +1,111 @@
+package com.financedashboard.DBBean;
+
+import com.financedashboard.dto.SummaryBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// JDBC access to monthly_rollup. Deltas are applied as batched upserts: ON CONFLICT on
+// Postgres, standard MERGE elsewhere (H2 in tests).
+@Repository
+public class MonthlyRollupRepository {
+
+    private static final String UPSERT_POSTGRES = "INSERT INTO monthly_rollup (user_id, kind, month_start, category, currency, total_minor, txn_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, kind, month_start, category, currency) DO UPDATE "
+            + "SET total_minor = monthly_rollup.total_minor + EXCLUDED.total_minor, txn_count = monthly_rollup.txn_count + EXCLUDED.txn_count";
+
+    private static final String UPSERT_MERGE = "MERGE INTO monthly_rollup r "
+            + "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(16)), CAST(? AS DATE), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(3)), "
+            + "CAST(? AS BIGINT), CAST(? AS BIGINT))) AS d (user_id, kind, month_start, category, currency, total_minor, txn_count) "
+            + "ON r.user_id = d.user_id AND r.kind = d.kind AND r.month_start = d.month_start AND r.category = d.category "
+            + "AND r.currency = d.currency "
+            + "WHEN MATCHED THEN UPDATE SET total_minor = r.total_minor + d.total_minor, txn_count = r.txn_count + d.txn_count "
+            + "WHEN NOT MATCHED THEN INSERT (user_id, kind, month_start, category, currency, total_minor, txn_count) "
+            + "VALUES (d.user_id, d.kind, d.month_start, d.category, d.currency, d.total_minor, d.txn_count)";
+
+    private static final String REBUILD = "INSERT INTO monthly_rollup (user_id, kind, month_start, category, currency, total_minor, txn_count) "
+            + "SELECT user_id, ?, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, ''), "
+            + "COALESCE(SUM(amount_minor), 0), COUNT(*) "
+            + "FROM %s WHERE user_id = ? AND date IS NOT NULL "
+            + "GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, '')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsert;
+
+    public MonthlyRollupRepository(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String jdbcUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsert = DatabaseDriver.fromJdbcUrl(jdbcUrl) == DatabaseDriver.POSTGRESQL ? UPSERT_POSTGRES : UPSERT_MERGE;
+    }
+
+    public void apply(RollupDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (RollupDelta.Change change : delta.changes()) {
+            RollupDelta.Key key = change.key();
+            rows.add(new Object[]{key.userId(), key.kind(), key.monthStart(), key.category(), key.currency(),
+                    change.total(), change.count()});
+        }
+        jdbcTemplate.batchUpdate(upsert, rows);
+    }
+
+    public List<SummaryBucket> sumByCategory(Long userId, String kind, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT category, SUM(total_minor), SUM(txn_count) FROM monthly_rollup "
+                        + "WHERE user_id = ? AND kind = ? AND month_start BETWEEN ? AND ? AND txn_count > 0 "
+                        + "GROUP BY category ORDER BY category",
+                (rs, i) -> new SummaryBucket(categoryOf(rs.getString(1)), rs.getLong(2), rs.getLong(3)),
+                userId, kind, from, to);
+    }
+
+    public List<SummaryBucket> sumByMonth(Long userId, String kind, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT month_start, SUM(total_minor), SUM(txn_count) FROM monthly_rollup "
+                        + "WHERE user_id = ? AND kind = ? AND month_start BETWEEN ? AND ? AND txn_count > 0 "
+                        + "GROUP BY month_start ORDER BY month_start",
+                (rs, i) -> {
+                    LocalDate month = rs.getObject(1, LocalDate.class);
+                    return new SummaryBucket(String.format("%04d-%02d", month.getYear(), month.getMonthValue()),
+                            rs.getLong(2), rs.getLong(3));
+                },
+                userId, kind, from, to);
+    }
+
+    // Currencies of the user's rows of either kind in the months from..to; null stands for rows saved
+    // without one.
+    public Set<String> currencies(Long userId, LocalDate from, LocalDate to) {
+        Set<String> currencies = new HashSet<>();
+        jdbcTemplate.query("SELECT DISTINCT currency FROM monthly_rollup "
+                        + "WHERE user_id = ? AND month_start BETWEEN ? AND ? AND txn_count > 0",
+                rs -> {
+                    String stored = rs.getString(1);
+                    currencies.add(stored.isEmpty() ? null : stored);
+                },
+                userId, from.withDayOfMonth(1), to);
+        return currencies;
+    }
+
+    public void deleteByUserId(Long userId) {
+        jdbcTemplate.update("DELETE FROM monthly_rollup WHERE user_id = ?", userId);
+    }
+
+    public void rebuildForUser(Long userId, String kind, String table) {
+        jdbcTemplate.update(String.format(REBUILD, table), kind, userId);
+    }
+
+    public List<Long> findTrackedUserIds() {
+        return jdbcTemplate.queryForList("SELECT user_id FROM expense_tracker WHERE user_id IS NOT NULL "
+                + "UNION SELECT user_id FROM income_tracker WHERE user_id IS NOT NULL", Long.class);
+    }
+
+    private static String categoryOf(String stored) {
+        return stored.isEmpty() ? null : stored;
+    }
+}
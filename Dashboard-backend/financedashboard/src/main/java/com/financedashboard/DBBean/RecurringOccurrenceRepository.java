@@ -0,0 +1,63 @@
+package com.financedashboard.DBBean;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// JDBC writes for the recurring-rule materializer. A rule's occurrences are claimed by moving its
+// occurrence count forward only if it still holds the value that was read, so when two runs race
+// for the same period one of them updates no row and writes nothing. The claim and the inserted
+// tracker rows commit together. Tracker ids come from the column defaults (the id sequences).
+@Repository
+public class RecurringOccurrenceRepository {
+
+    private static final String CLAIM = "UPDATE recurring_rule SET occurrences = ?, next_date = ?, version = version + 1 "
+            + "WHERE id = ? AND occurrences = ?";
+
+    private static final String INSERT = "INSERT INTO %s (user_id, category, amount_minor, currency, date, description) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    public record Claim(Long ruleId, long expectedOccurrences, long occurrences, LocalDate nextDate) {
+    }
+
+    public record Occurrence(Long userId, String category, long amountMinor, String currency, LocalDate date,
+                             String description) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecurringOccurrenceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // One update count per claim, in order; 0 means another run got there first.
+    public int[] claim(List<Claim> claims) {
+        List<Object[]> rows = new ArrayList<>(claims.size());
+        for (Claim claim : claims) {
+            rows.add(new Object[]{claim.occurrences(), claim.nextDate(), claim.ruleId(), claim.expectedOccurrences()});
+        }
+        return jdbcTemplate.batchUpdate(CLAIM, rows);
+    }
+
+    public void insertExpenses(List<Occurrence> occurrences) {
+        insert("expense_tracker", occurrences);
+    }
+
+    public void insertIncomes(List<Occurrence> occurrences) {
+        insert("income_tracker", occurrences);
+    }
+
+    private void insert(String table, List<Occurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(occurrences.size());
+        for (Occurrence o : occurrences) {
+            rows.add(new Object[]{o.userId(), o.category(), o.amountMinor(), o.currency(), o.date(), o.description()});
+        }
+        jdbcTemplate.batchUpdate(String.format(INSERT, table), rows);
+    }
+}
@@ -0,0 +1,26 @@
+package com.financedashboard.DBBean;
+
+import com.financedashboard.entities.RecurringRule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    List<RecurringRule> findByUserIdOrderById(Long userId);
+
+    // Keyset over the due rules of one user-id shard; ended rules have no next date and never match.
+    @Query("select r from RecurringRule r where r.nextDate <= :today and r.userId between :minUserId and :maxUserId "
+            + "and r.id > :afterId order by r.id")
+    List<RecurringRule> findDue(@Param("today") LocalDate today, @Param("minUserId") long minUserId,
+                                @Param("maxUserId") long maxUserId, @Param("afterId") long afterId, Pageable page);
+
+    @Query("select min(r.nextDate) from RecurringRule r where r.nextDate <= :today "
+            + "and r.userId between :minUserId and :maxUserId")
+    LocalDate findOldestDue(@Param("today") LocalDate today, @Param("minUserId") long minUserId,
+                            @Param("maxUserId") long maxUserId);
+}
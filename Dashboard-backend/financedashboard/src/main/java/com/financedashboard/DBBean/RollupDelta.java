@@ -0,0 +1,60 @@
+package com.financedashboard.DBBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Net change to monthly_rollup produced by one write, in minor units. Changes to the same
+// (user, kind, month, category, currency) cell are merged, so a chunk of N rows turns into at most
+// months x categories x currencies upserts.
+public final class RollupDelta {
+
+    public record Key(Long userId, String kind, LocalDate monthStart, String category, String currency) {
+    }
+
+    public record Change(Key key, long total, long count) {
+    }
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::userId)
+            .thenComparing(Key::kind)
+            .thenComparing(Key::monthStart)
+            .thenComparing(Key::category)
+            .thenComparing(Key::currency);
+
+    private final Map<Key, long[]> cells = new HashMap<>();
+
+    public void add(Long userId, String kind, LocalDate date, String category, String currency, Long amountMinor, int count) {
+        addTotal(userId, kind, date, category, currency, amountMinor != null ? amountMinor * count : 0L, count);
+    }
+
+    // For rows the database has already summed: total and count are added as given.
+    public void addTotal(Long userId, String kind, LocalDate date, String category, String currency, long total, long count) {
+        if (userId == null || date == null) {
+            return;
+        }
+        Key key = new Key(userId, kind, date.withDayOfMonth(1), category != null ? category : "",
+                currency != null ? currency : "");
+        long[] cell = cells.computeIfAbsent(key, k -> new long[2]);
+        cell[0] += total;
+        cell[1] += count;
+    }
+
+    public boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    // Sorted by key so concurrent writers lock rollup rows in the same order.
+    public List<Change> changes() {
+        List<Change> changes = new ArrayList<>(cells.size());
+        cells.forEach((key, cell) -> {
+            if (cell[0] != 0 || cell[1] != 0) {
+                changes.add(new Change(key, cell[0], cell[1]));
+            }
+        });
+        changes.sort(Comparator.comparing(Change::key, ORDER));
+        return changes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.financedashboard.DBBean;
+
+import com.financedashboard.dto.SearchCursor;
+import com.financedashboard.dto.SearchHit;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ranked search over the Postgres search_vector/search_text columns (postgresql/V11). A row matches
+// when the words of the query match its tsvector, or when the query is close enough to a word of
+// its text by pg_trgm word similarity (typos, fragments). The score adds the two, so exact word
+// matches, and category matches in particular, rank above fuzzy ones. Pages continue after the
+// cursor in (score desc, kind, id) order.
+@Repository
+public class SearchRepository {
+
+    private static final String BRANCH = "SELECT '%s' AS kind, t.id, t.user_id, t.category, t.amount_minor, t.currency, t.date, t.description, "
+            + "CAST(ts_rank_cd(t.search_vector, q.tsq) + word_similarity(q.phrase, t.search_text) AS double precision) AS score "
+            + "FROM %s t, q WHERE t.user_id = ? AND (t.search_vector @@ q.tsq OR q.phrase <%% t.search_text)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // kind null searches both trackers.
+    public List<SearchHit> search(Long userId, String query, UserDataKind kind, SearchCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(query);
+        args.add(query);
+        List<String> branches = new ArrayList<>();
+        if (kind == null || kind == UserDataKind.EXPENSE) {
+            branches.add(branch(UserDataKind.EXPENSE, "expense_tracker"));
+            args.add(userId);
+        }
+        if (kind == null || kind == UserDataKind.INCOME) {
+            branches.add(branch(UserDataKind.INCOME, "income_tracker"));
+            args.add(userId);
+        }
+        StringBuilder sql = new StringBuilder("WITH q AS (SELECT websearch_to_tsquery('simple', CAST(? AS text)) AS tsq, lower(CAST(? AS text)) AS phrase) ")
+                .append("SELECT * FROM (").append(String.join(" UNION ALL ", branches)).append(") hits ");
+        if (after != null) {
+            sql.append("WHERE score < ? OR (score = ? AND (kind > ? OR (kind = ? AND id > ?))) ");
+            args.add(after.score());
+            args.add(after.score());
+            args.add(after.kind().name());
+            args.add(after.kind().name());
+            args.add(after.id());
+        }
+        sql.append("ORDER BY score DESC, kind, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> new SearchHit(UserDataKind.valueOf(rs.getString(1)),
+                rs.getLong(2), rs.getLong(3), rs.getString(4), rs.getObject(5, Long.class), rs.getString(6),
+                rs.getObject(7, LocalDate.class), rs.getString(8), rs.getDouble(9)), args.toArray());
+    }
+
+    private static String branch(UserDataKind kind, String table) {
+        return String.format(BRANCH, kind.name(), table);
+    }
+}
@@ -0,0 +1,83 @@
+package com.financedashboard.DBBean;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Reads tracker months for the archive job and keeps the tracker_archive ledger of written files.
+// Month ranges are half-open, [monthStart, next month), so they prune to a single partition.
+@Repository
+public class TrackerArchiveRepository {
+
+    public static final String COLUMNS = "id, user_id, category, amount_minor, currency, date, description, version";
+
+    private static final int DELETE_CHUNK = 1000;
+
+    public record ArchiveFile(String filePath, String table, LocalDate monthStart, long rowCount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TrackerArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public LocalDate findOldestDate(String table, LocalDate before) {
+        return jdbcTemplate.queryForObject("SELECT MIN(date) FROM " + table + " WHERE date < ?", LocalDate.class, before);
+    }
+
+    // Streams the month in COLUMNS order with a bounded fetch size; call inside a transaction.
+    public void streamMonth(String table, LocalDate monthStart, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement("SELECT " + COLUMNS + " FROM " + table
+                    + " WHERE date >= ? AND date < ? ORDER BY date, id");
+            statement.setFetchSize(1000);
+            statement.setObject(1, monthStart);
+            statement.setObject(2, monthStart.plusMonths(1));
+            return statement;
+        }, handler);
+    }
+
+    // Removes exactly the rows that were archived, so rows written to the month meanwhile stay.
+    public int deleteArchived(String table, LocalDate monthStart, Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        int deleted = 0;
+        for (int from = 0; from < all.size(); from += DELETE_CHUNK) {
+            List<Long> chunk = all.subList(from, Math.min(all.size(), from + DELETE_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(monthStart);
+            args.add(monthStart.plusMonths(1));
+            args.addAll(chunk);
+            deleted += jdbcTemplate.update("DELETE FROM " + table + " WHERE date >= ? AND date < ? AND id IN (" + placeholders + ")",
+                    args.toArray());
+        }
+        return deleted;
+    }
+
+    public void record(ArchiveFile file) {
+        jdbcTemplate.update("INSERT INTO tracker_archive (file_path, table_name, month_start, row_count, archived_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                file.filePath(), file.table(), file.monthStart(), file.rowCount(), Timestamp.from(Instant.now()));
+    }
+
+    public void updateRowCount(String filePath, long rowCount) {
+        jdbcTemplate.update("UPDATE tracker_archive SET row_count = ? WHERE file_path = ?", rowCount, filePath);
+    }
+
+    public List<ArchiveFile> findFiles(String table, LocalDate fromMonth, LocalDate toMonth) {
+        return jdbcTemplate.query("SELECT file_path, table_name, month_start, row_count FROM tracker_archive "
+                        + "WHERE table_name = ? AND month_start BETWEEN ? AND ? ORDER BY month_start, file_path",
+                (rs, i) -> new ArchiveFile(rs.getString(1), rs.getString(2), rs.getObject(3, LocalDate.class), rs.getLong(4)),
+                table, fromMonth, toMonth);
+    }
+}
@@ -0,0 +1,77 @@
+package com.financedashboard.DBBean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// Monthly range partitions of the tracker tables (postgresql/V12). Other databases keep plain
+// tables, where isPartitioned() is false and callers skip partition work. Table names only ever
+// come from code, never from requests.
+@Repository
+public class TrackerPartitionRepository {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    // Stored columns of both trackers; the search columns are generated.
+    private static final String COLUMNS = "id, user_id, category, amount_minor, currency, date, description, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean partitioned;
+
+    public TrackerPartitionRepository(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String jdbcUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitioned = DatabaseDriver.fromJdbcUrl(jdbcUrl) == DatabaseDriver.POSTGRESQL;
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    public boolean hasMonthPartition(String table, LocalDate monthStart) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                partitionName(table, monthStart)));
+    }
+
+    // Rows already in the default partition for the month (future-dated entries, recurring rows)
+    // would make a plain CREATE ... PARTITION OF fail, so in that case the default partition is
+    // detached while the month is created, its rows for the month are moved into the new
+    // partition, and it is attached again, all in one transaction.
+    @Transactional
+    public void createMonthPartition(String table, LocalDate monthStart) {
+        String partition = partitionName(table, monthStart);
+        String defaultPartition = table + "_default";
+        LocalDate monthEnd = monthStart.plusMonths(1);
+        String bounds = " FOR VALUES FROM ('" + monthStart + "') TO ('" + monthEnd + "')";
+        Boolean occupied = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + defaultPartition
+                + " WHERE date >= ? AND date < ?)", Boolean.class, monthStart, monthEnd);
+        if (!Boolean.TRUE.equals(occupied)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table + bounds);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + defaultPartition);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + table + bounds);
+        jdbcTemplate.update("INSERT INTO " + table + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM " + defaultPartition
+                + " WHERE date >= ? AND date < ?", monthStart, monthEnd);
+        jdbcTemplate.update("DELETE FROM " + defaultPartition + " WHERE date >= ? AND date < ?", monthStart, monthEnd);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + defaultPartition + " DEFAULT");
+    }
+
+    // Blocks writes to the month until the transaction ends; reads carry on.
+    public void lockMonthPartition(String table, LocalDate monthStart) {
+        jdbcTemplate.execute("LOCK TABLE " + partitionName(table, monthStart) + " IN SHARE MODE");
+    }
+
+    public void dropMonthPartition(String table, LocalDate monthStart) {
+        String partition = partitionName(table, monthStart);
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    static String partitionName(String table, LocalDate monthStart) {
+        return table + "_p" + monthStart.format(SUFFIX);
+    }
+}
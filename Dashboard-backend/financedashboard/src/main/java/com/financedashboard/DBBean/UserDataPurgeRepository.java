@@ -0,0 +1,39 @@
+package com.financedashboard.DBBean;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Deletes a user's tracker rows a bounded chunk at a time, so each purge transaction holds
+// row locks for at most `limit` rows. The inner SELECT uses the (user_id, date, id) indexes.
+@Repository
+public class UserDataPurgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserDataPurgeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int deleteExpenseChunk(Long userId, int limit) {
+        return deleteChunk("expense_tracker", userId, limit);
+    }
+
+    public int deleteIncomeChunk(Long userId, int limit) {
+        return deleteChunk("income_tracker", userId, limit);
+    }
+
+    public int deleteGoalChunk(Long userId, int limit) {
+        return deleteChunk("goals_tracker", userId, limit);
+    }
+
+    // Rules are few per user and go in one statement, with the users row, so nothing is
+    // materialized for a user who is being purged.
+    public int deleteRecurringRules(Long userId) {
+        return jdbcTemplate.update("DELETE FROM recurring_rule WHERE user_id = ?", userId);
+    }
+
+    private int deleteChunk(String table, Long userId, int limit) {
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table
+                + " WHERE user_id = ? LIMIT ?)", userId, limit);
+    }
+}
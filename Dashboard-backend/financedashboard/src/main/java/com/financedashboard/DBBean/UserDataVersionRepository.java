@@ -0,0 +1,40 @@
+package com.financedashboard.DBBean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class UserDataVersionRepository {
+
+    private static final String BUMP_POSTGRES = "INSERT INTO user_data_version (user_id, kind, version) VALUES (?, ?, 1) "
+            + "ON CONFLICT (user_id, kind) DO UPDATE SET version = user_data_version.version + 1";
+
+    private static final String BUMP_MERGE = "MERGE INTO user_data_version v "
+            + "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(16)))) AS d (user_id, kind) "
+            + "ON v.user_id = d.user_id AND v.kind = d.kind "
+            + "WHEN MATCHED THEN UPDATE SET version = v.version + 1 "
+            + "WHEN NOT MATCHED THEN INSERT (user_id, kind, version) VALUES (d.user_id, d.kind, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String bump;
+
+    public UserDataVersionRepository(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String jdbcUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bump = DatabaseDriver.fromJdbcUrl(jdbcUrl) == DatabaseDriver.POSTGRESQL ? BUMP_POSTGRES : BUMP_MERGE;
+    }
+
+    public void bump(Long userId, String kind) {
+        jdbcTemplate.update(bump, userId, kind);
+    }
+
+    // 0 for a user whose data of this kind has never been written.
+    public long find(Long userId, String kind) {
+        List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM user_data_version WHERE user_id = ? AND kind = ?",
+                Long.class, userId, kind);
+        return versions.isEmpty() ? 0L : versions.get(0);
+    }
+}
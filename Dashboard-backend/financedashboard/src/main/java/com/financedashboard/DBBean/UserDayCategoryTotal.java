@@ -0,0 +1,13 @@
+package com.financedashboard.DBBean;
+
+import java.time.LocalDate;
+
+// Projection of tracker rows grouped by (user, day, category, currency); used to take a set of rows out of the rollup.
+public interface UserDayCategoryTotal {
+    Long getUserId();
+    LocalDate getBookedOn();
+    String getCategory();
+    String getCurrency();
+    Long getTotal();
+    Long getEntries();
+}
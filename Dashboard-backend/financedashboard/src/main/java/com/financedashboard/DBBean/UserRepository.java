@@ -2,6 +2,9 @@ package com.financedashboard.DBBean;
 
 import com.financedashboard.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
      User findByEmail(String email); // This method retrieves a User entity by its email address.
@@ -11,5 +14,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
         // The return type is User, which means it will return a single User entity or null if no user is found.
         // The method is used in the UserServiceImpl class to retrieve a user by their name.
         // This interface is part of the data access layer and is used to interact with the database.        
+
+     // One-statement edit for a client that holds the row's version; 0 means stale or missing.
+     @Modifying
+     @Query("update User u set u.name = :name, u.email = :email, u.password = :password, u.version = u.version + 1 "
+             + "where u.id = :id and u.version = :version")
+     int updateIfVersion(@Param("id") Long id, @Param("version") Long version,
+                         @Param("name") String name, @Param("email") String email, @Param("password") String password);
 }
 // This interface extends JpaRepository, which provides CRUD operations for the User entity.
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.financedashboard.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financedashboard.service.ArchiveService;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+    private final ObjectMapper objectMapper;
+
+    public ArchiveController(ArchiveService archiveService, ObjectMapper objectMapper) {
+        this.archiveService = archiveService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Rows of one user that have been moved out of the live tables, streamed from the archive files
+    // as a JSON array.
+    @GetMapping(value = "/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody getArchived(@PathVariable Long userId,
+                                         @RequestParam(defaultValue = "expense") String kind,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UserDataKind archived;
+        try {
+            archived = UserDataKind.valueOf(kind.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "kind must be expense or income");
+        }
+        if (archived == UserDataKind.GOAL) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "kind must be expense or income");
+        }
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                archiveService.readArchived(userId, archived, from, to, row -> writer.writeValue(json, row));
+                json.writeEndArray();
+            }
+        };
+    }
+
+    // Archives everything older than the configured horizon now; returns the number of months moved.
+    @PostMapping("/run")
+    public int archive() throws IOException {
+        return archiveService.archiveDue();
+    }
+}
@@ -0,0 +1,17 @@
+package com.financedashboard.controller;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// A stale version on any edit endpoint is a 409, so clients know to reload the row and retry.
+@RestControllerAdvice
+public class ConcurrencyExceptionHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail conflict(OptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "The record was changed by another request; reload it and retry.");
+    }
+}
@@ -0,0 +1,41 @@
+package com.financedashboard.controller;
+
+import com.financedashboard.dto.DashboardResponse;
+import com.financedashboard.dto.DashboardSection;
+import com.financedashboard.service.DashboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // Everything the dashboard page loads, in one response. fields=user,income,expense,goals
+    // picks sections; without it all four are returned.
+    @GetMapping("/{userId}")
+    public DashboardResponse getDashboard(@PathVariable Long userId, @RequestParam(required = false) List<String> fields) {
+        Set<DashboardSection> sections = EnumSet.allOf(DashboardSection.class);
+        if (fields != null && !fields.isEmpty()) {
+            sections = EnumSet.noneOf(DashboardSection.class);
+            try {
+                for (String field : fields) {
+                    sections.add(DashboardSection.from(field));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must be a list of user, income, expense, goals");
+            }
+        }
+        return dashboardService.getDashboard(userId, sections);
+    }
+}
@@ -1,9 +1,25 @@
 package com.financedashboard.controller;
 
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.ImportFormat;
+import com.financedashboard.dto.ImportResult;
 import com.financedashboard.entities.Expense;
+import com.financedashboard.service.DataVersionService;
 import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.ImportService;
+import com.financedashboard.service.event.UserDataKind;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -11,37 +27,74 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ImportService importService;
+    private final DataVersionService dataVersionService;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, ImportService importService, DataVersionService dataVersionService) {
         this.expenseService = expenseService;
+        this.importService = importService;
+        this.dataVersionService = dataVersionService;
     }
 
     @GetMapping
-    public List<Expense> getAllExpenses() {
+    public List<ExpenseView> getAllExpenses() {
         return expenseService.getAllExpenses();
     }
 
-    @GetMapping("/{userId}")
-    public List<Expense> getExpense(@PathVariable Long userId) {
+    // Strong ETag from the user's change counter and the negotiated encoding; a matching
+    // If-None-Match is answered with 304 before the list is loaded or serialized.
+    @GetMapping(value = "/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ListRepresentation.SMILE_VALUE})
+    public List<ExpenseView> getExpense(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified(dataVersionService.etag(userId, UserDataKind.EXPENSE, ListRepresentation.negotiate(request)))) {
+            return null;
+        }
         return expenseService.getExpenseByUserId(userId);
     }
 
+    @GetMapping("/{userId}/page")
+    public CursorPage<ExpenseView> getExpensePage(@PathVariable Long userId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(required = false) String category,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int size) {
+        try {
+            return expenseService.getExpensePage(userId, from, to, category, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PostMapping
     public List<Expense> createExpense(@RequestBody List<Expense> expense) {
         return expenseService.saveExpense(expense);
     }
 
+    // Streams the request body instead of binding it, so uploads of any size run in constant memory.
+    @PostMapping(value = "/import", consumes = {ImportFormat.NDJSON_VALUE, ImportFormat.CSV_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ImportResult importExpense(HttpServletRequest request,
+                                     @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        return importService.importExpenses(request.getInputStream(), ImportFormat.fromContentType(contentType));
+    }
+
     @PutMapping("/{id}")
     public Expense updateExpense(@PathVariable Long id, @RequestBody Expense expense) {
         return expenseService.updateExpense(id, expense);
     }
 
+    @PatchMapping("/{id}")
+    public Expense patchExpense(@PathVariable Long id, @RequestBody Expense changes) {
+        return expenseService.patchExpense(id, changes);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteExpense(@PathVariable Long id) {
         expenseService.deleteExpense(id);
     }
+
+    // Returns the number of rows deleted; ids owned by other users are left alone.
     @DeleteMapping
-    public void deleteAllExpenses(@RequestBody List<Long> ids) {
-        expenseService.deleteAllExpenses(ids);
+    public int deleteAllExpenses(@RequestParam Long userId, @RequestBody List<Long> ids) {
+        return expenseService.deleteAllExpenses(userId, ids);
     }
 }
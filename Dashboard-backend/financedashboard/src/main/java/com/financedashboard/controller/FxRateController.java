@@ -0,0 +1,32 @@
+package com.financedashboard.controller;
+
+import com.financedashboard.dto.ImportFormat;
+import com.financedashboard.service.FxRateService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/fx-rates")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    // Loads a date,currency,rate CSV into the rate table; returns the number of rates stored.
+    @PostMapping(consumes = {ImportFormat.CSV_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public int loadRates(HttpServletRequest request) throws IOException {
+        try {
+            return fxRateService.loadRates(request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.financedashboard.controller;
 
+import com.financedashboard.dto.GoalProgress;
+import com.financedashboard.dto.GoalView;
 import com.financedashboard.entities.Goal;
+import com.financedashboard.service.DataVersionService;
 import com.financedashboard.service.GoalService;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -11,18 +17,27 @@ import java.util.List;
 public class GoalController {
     // Inject the GoalService here
     private final GoalService goalService;
+    private final DataVersionService dataVersionService;
 
-    public GoalController(GoalService goalService) {
+    public GoalController(GoalService goalService, DataVersionService dataVersionService) {
         this.goalService = goalService;
+        this.dataVersionService = dataVersionService;
     }
     @GetMapping
-    public List<Goal> getAllGoals() {
+    public List<GoalView> getAllGoals() {
         return goalService.getAllGoal();
     }
-    @GetMapping("/{userId}")
-    public List<Goal> getGoalsByUserId(@PathVariable Long userId) {
+    @GetMapping(value = "/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ListRepresentation.SMILE_VALUE})
+    public List<GoalView> getGoalsByUserId(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified(dataVersionService.etag(userId, UserDataKind.GOAL, ListRepresentation.negotiate(request)))) {
+            return null;
+        }
         return goalService.getGoalByUserId(userId);
     }
+    @GetMapping("/{userId}/progress")
+    public List<GoalProgress> getGoalProgress(@PathVariable Long userId) {
+        return goalService.getGoalProgress(userId);
+    }
     @PostMapping
     public Goal createGoal(@RequestBody Goal goal) {
         return goalService.saveGoal(goal);
@@ -31,6 +46,10 @@ public class GoalController {
     public Goal updateGoal(@PathVariable Long id, @RequestBody Goal goal) {
         return goalService.updateGoal(id, goal);
     }
+    @PatchMapping("/{id}")
+    public Goal patchGoal(@PathVariable Long id, @RequestBody Goal changes) {
+        return goalService.patchGoal(id, changes);
+    }
     @DeleteMapping("/{id}")
     public void deleteGoal(@PathVariable Long id) {
         goalService.deleteGoal(id);
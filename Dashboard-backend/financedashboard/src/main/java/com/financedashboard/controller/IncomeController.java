@@ -1,47 +1,97 @@
 package com.financedashboard.controller;
 
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.IncomeView;
+import com.financedashboard.dto.ImportFormat;
+import com.financedashboard.dto.ImportResult;
 import com.financedashboard.entities.Income;
+import com.financedashboard.service.DataVersionService;
 import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.ImportService;
+import com.financedashboard.service.event.UserDataKind;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/income")
 public class IncomeController {
     private  final IncomeService incomeService;
+    private final ImportService importService;
+    private final DataVersionService dataVersionService;
 
-    public IncomeController(IncomeService incomeService) {
+    public IncomeController(IncomeService incomeService, ImportService importService, DataVersionService dataVersionService) {
         this.incomeService = incomeService;
+        this.importService = importService;
+        this.dataVersionService = dataVersionService;
     }
 
     @GetMapping
-    public List<Income> getAllIncome() {
+    public List<IncomeView> getAllIncome() {
         return incomeService.getAllIncome();
     }
 
-    @GetMapping("/{userId}")
-    public List<Income> getIncome(@PathVariable Long userId) {
+    @GetMapping(value = "/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ListRepresentation.SMILE_VALUE})
+    public List<IncomeView> getIncome(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified(dataVersionService.etag(userId, UserDataKind.INCOME, ListRepresentation.negotiate(request)))) {
+            return null;
+        }
         return incomeService.getIncomeByUserId(userId);
     }
 
+    @GetMapping("/{userId}/page")
+    public CursorPage<IncomeView> getIncomePage(@PathVariable Long userId,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(required = false) String category,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return incomeService.getIncomePage(userId, from, to, category, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PostMapping
     public List<Income> createIncome(@RequestBody List<Income> income) {
         return incomeService.saveIncome(income);
     }
 
+    // Streams the request body instead of binding it, so uploads of any size run in constant memory.
+    @PostMapping(value = "/import", consumes = {ImportFormat.NDJSON_VALUE, ImportFormat.CSV_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ImportResult importIncome(HttpServletRequest request,
+                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        return importService.importIncome(request.getInputStream(), ImportFormat.fromContentType(contentType));
+    }
+
     @PutMapping("/{id}")
     public Income updateIncome(@PathVariable Long id, @RequestBody Income income) {
         return incomeService.updateIncome(id, income);
     }
+
+    @PatchMapping("/{id}")
+    public Income patchIncome(@PathVariable Long id, @RequestBody Income changes) {
+        return incomeService.patchIncome(id, changes);
+    }
     
     @DeleteMapping("/{id}")
     public void deleteIncome(@PathVariable Long id) {
         incomeService.deleteIncome(id);
     }
     
+    // Returns the number of rows deleted; ids owned by other users are left alone.
     @DeleteMapping
-    public void deleteIncome(@RequestBody List<Long> ids) {
-        incomeService.deleteAllIncomes(ids);
+    public int deleteIncome(@RequestParam Long userId, @RequestBody List<Long> ids) {
+        return incomeService.deleteAllIncomes(userId, ids);
     }
 }
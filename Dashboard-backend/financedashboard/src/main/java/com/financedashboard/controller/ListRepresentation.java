@@ -0,0 +1,66 @@
+package com.financedashboard.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// The encodings a cached user list is served in, and the one content negotiation will pick for a
+// request. The list ETag is per encoding: a client holding the JSON body must not get a 304 when it
+// asks for CBOR. Endpoints using this list the PRODUCES types, in the same order, in their mapping,
+// so Spring negotiates over the same types and picks the same encoding to write the body.
+final class ListRepresentation {
+
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+    static final String[] PRODUCES = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, SMILE_VALUE};
+
+    private static final List<MediaType> PRODUCIBLE = Arrays.stream(PRODUCES).map(MediaType::parseMediaType).toList();
+
+    private ListRepresentation() {}
+
+    // Subtype of the negotiated encoding (json, cbor, x-jackson-smile), for the ETag. Also marks the
+    // response, 304s included, as varying by Accept so shared caches keep the encodings apart.
+    static String negotiate(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            HttpServletResponse response = servletRequest.getResponse();
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return select(request).getSubtype();
+    }
+
+    private static MediaType select(WebRequest request) {
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType accepted : accepted(request)) {
+            for (MediaType producible : PRODUCIBLE) {
+                if (accepted.getQualityValue() > 0 && accepted.isCompatibleWith(producible)) {
+                    compatible.add(producible.copyQualityValue(accepted));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.isEmpty() ? MediaType.APPLICATION_JSON : compatible.get(0);
+    }
+
+    private static List<MediaType> accepted(WebRequest request) {
+        String[] values = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (values == null) {
+            return List.of(MediaType.ALL);
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(Arrays.asList(values));
+            return types.isEmpty() ? List.of(MediaType.ALL) : types;
+        } catch (InvalidMediaTypeException e) {
+            // The handler mapping rejects such a request before it gets here.
+            return List.of(MediaType.ALL);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.financedashboard.controller;
+
+import com.financedashboard.dto.RecurringRunResult;
+import com.financedashboard.entities.RecurringRule;
+import com.financedashboard.service.RecurringRuleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring")
+public class RecurringRuleController {
+
+    private final RecurringRuleService recurringRuleService;
+
+    public RecurringRuleController(RecurringRuleService recurringRuleService) {
+        this.recurringRuleService = recurringRuleService;
+    }
+
+    @GetMapping("/{userId}")
+    public List<RecurringRule> getRulesByUserId(@PathVariable Long userId) {
+        return recurringRuleService.getRulesByUserId(userId);
+    }
+
+    @PostMapping
+    public List<RecurringRule> createRules(@RequestBody List<RecurringRule> rules) {
+        try {
+            return recurringRuleService.saveRules(rules);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteRule(@PathVariable Long id) {
+        recurringRuleService.deleteRule(id);
+    }
+
+    // Writes everything due today for this node's user-id range without waiting for the schedule.
+    @PostMapping("/materialize")
+    public RecurringRunResult materialize() {
+        return recurringRuleService.materializeDue();
+    }
+}
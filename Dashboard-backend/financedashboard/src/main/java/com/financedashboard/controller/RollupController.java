@@ -0,0 +1,25 @@
+package com.financedashboard.controller;
+
+import com.financedashboard.service.RollupService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/rollup")
+public class RollupController {
+
+    private final RollupService rollupService;
+
+    public RollupController(RollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    // Rebuilds one user's monthly rollup, or every user's when userId is omitted.
+    @PostMapping("/rebuild")
+    public int rebuild(@RequestParam(required = false) Long userId) {
+        if (userId != null) {
+            rollupService.rebuildUser(userId);
+            return 1;
+        }
+        return rollupService.rebuildAll();
+    }
+}
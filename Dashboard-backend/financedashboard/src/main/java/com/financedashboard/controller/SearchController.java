@@ -0,0 +1,38 @@
+package com.financedashboard.controller;
+
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.SearchHit;
+import com.financedashboard.service.SearchService;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // Ranked matches on category and description across a user's expenses and incomes, or one of
+    // them with kind=expense|income; pass nextCursor back as cursor for the following page.
+    @GetMapping
+    public CursorPage<SearchHit> search(@RequestParam Long userId,
+                                        @RequestParam String q,
+                                        @RequestParam(required = false) String kind,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "50") int size) {
+        try {
+            UserDataKind searched = kind != null ? UserDataKind.valueOf(kind.toUpperCase(Locale.ROOT)) : null;
+            return searchService.search(userId, q, searched, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
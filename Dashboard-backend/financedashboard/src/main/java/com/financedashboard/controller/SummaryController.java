@@ -0,0 +1,49 @@
+package com.financedashboard.controller;
+
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.dto.SummaryResponse;
+import com.financedashboard.entities.Money;
+import com.financedashboard.service.SummaryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/users")
+public class SummaryController {
+
+    private final SummaryService summaryService;
+
+    public SummaryController(SummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    @GetMapping("/{userId}/summary")
+    public SummaryResponse getSummary(@PathVariable Long userId,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      @RequestParam(defaultValue = "category") String groupBy,
+                                      @RequestParam(required = false) String reportingCurrency) {
+        SummaryGrouping grouping;
+        String currency;
+        try {
+            grouping = SummaryGrouping.from(groupBy);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupBy must be one of category, month, week");
+        }
+        try {
+            currency = Money.currencyCode(reportingCurrency);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        // A well-formed currency can still lack rates for some of the rows' days.
+        try {
+            return summaryService.getSummary(userId, from, to, grouping, currency);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+    }
+}
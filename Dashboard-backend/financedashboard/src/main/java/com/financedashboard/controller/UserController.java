@@ -1,8 +1,15 @@
 package com.financedashboard.controller;
 
+import com.financedashboard.dto.PurgeJobStatus;
 import com.financedashboard.entities.User;
+import com.financedashboard.service.PurgeService;
 import com.financedashboard.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
 
 import java.util.List;
 
@@ -11,9 +18,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final PurgeService purgeService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, PurgeService purgeService) {
         this.userService = userService;
+        this.purgeService = purgeService;
     }
 
     @GetMapping
@@ -41,8 +50,28 @@ public class UserController {
         return userService.updateUser(id, user);
     }
 
+    @PatchMapping("/{id}")
+    public User patchUser(@PathVariable Long id, @RequestBody User changes) {
+        return userService.patchUser(id, changes);
+    }
+
+    // Deletes the user with their income, expense and goal rows. With async=true the purge runs in
+    // the background and the response points at its status.
     @DeleteMapping("/{id}")
-    public void deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<PurgeJobStatus> deleteUser(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean async) {
+        if (!async) {
+            return ResponseEntity.ok(purgeService.purgeUser(id));
+        }
+        PurgeJobStatus job = purgeService.startPurge(id);
+        return ResponseEntity.accepted().location(URI.create("/api/users/purge-jobs/" + job.jobId())).body(job);
+    }
+
+    @GetMapping("/purge-jobs/{jobId}")
+    public PurgeJobStatus getPurgeJob(@PathVariable String jobId) {
+        PurgeJobStatus job = purgeService.getJob(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired purge job " + jobId);
+        }
+        return job;
     }
 }
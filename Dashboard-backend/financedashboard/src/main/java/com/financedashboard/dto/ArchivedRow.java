@@ -0,0 +1,26 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.financedashboard.entities.Money;
+import com.financedashboard.service.event.UserDataKind;
+
+import java.time.LocalDate;
+
+// An expense or income row read back from an archive file.
+public record ArchivedRow(
+        UserDataKind kind,
+        Long id,
+        Long userId,
+        String category,
+        @JsonIgnore Long amountMinor,
+        String currency,
+        LocalDate date,
+        String description,
+        Long version) {
+
+    @JsonProperty
+    public Double amount() {
+        return Money.toMajor(amountMinor, currency);
+    }
+}
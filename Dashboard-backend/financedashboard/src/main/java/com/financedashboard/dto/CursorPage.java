@@ -0,0 +1,6 @@
+package com.financedashboard.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+}
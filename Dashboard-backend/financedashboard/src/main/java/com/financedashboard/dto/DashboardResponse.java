@@ -0,0 +1,16 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.financedashboard.entities.User;
+
+import java.util.List;
+
+// Sections that were not requested are left out of the JSON rather than sent as null.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardResponse(
+        Long userId,
+        User user,
+        List<IncomeView> income,
+        List<ExpenseView> expense,
+        List<GoalView> goals) {
+}
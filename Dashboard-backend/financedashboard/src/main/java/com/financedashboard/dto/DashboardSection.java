@@ -0,0 +1,12 @@
+package com.financedashboard.dto;
+
+public enum DashboardSection {
+    USER,
+    INCOME,
+    EXPENSE,
+    GOALS;
+
+    public static DashboardSection from(String value) {
+        return DashboardSection.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,24 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.financedashboard.entities.Money;
+
+import java.time.LocalDate;
+
+public record ExpenseView(
+        Long id,
+        Long userId,
+        String category,
+        @JsonIgnore Long amountMinor,
+        String currency,
+        LocalDate date,
+        String description,
+        Long version) {
+
+    // Serialized as "amount" in major units, matching the entity JSON.
+    @JsonProperty
+    public Double amount() {
+        return Money.toMajor(amountMinor, currency);
+    }
+}
@@ -0,0 +1,13 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+// Flat export line shared by incomes, expenses and goals; date is the start date for goals.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExportRow(String kind, Long id, String category, Double amount, String currency, LocalDate date,
+                        LocalDate endDate, String type, String description) {
+
+    public static final String CSV_HEADER = "kind,id,category,amount,currency,date,end_date,type,description";
+}
@@ -0,0 +1,7 @@
+package com.financedashboard.dto;
+
+import java.time.LocalDate;
+
+// Units of currency per one unit of the base currency on the given day.
+public record FxRate(String currency, LocalDate date, double rate) {
+}
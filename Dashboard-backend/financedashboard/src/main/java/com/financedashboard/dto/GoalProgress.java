@@ -0,0 +1,9 @@
+package com.financedashboard.dto;
+
+import java.time.LocalDate;
+
+// progress is the amount spent in the category for budget goals and net savings for savings goals,
+// in the goal's currency.
+public record GoalProgress(Long goalId, String category, String type, LocalDate startDate, LocalDate endDate,
+                           String currency, double target, double progress, double remaining, double percent) {
+}
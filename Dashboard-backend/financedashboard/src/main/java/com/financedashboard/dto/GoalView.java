@@ -0,0 +1,25 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.financedashboard.entities.Money;
+
+import java.time.LocalDate;
+
+public record GoalView(
+        Long id,
+        Long userId,
+        String category,
+        @JsonIgnore Long amountMinor,
+        String currency,
+        LocalDate startDate,
+        LocalDate endDate,
+        String description,
+        String type,
+        Long version) {
+
+    @JsonProperty
+    public Double amount() {
+        return Money.toMajor(amountMinor, currency);
+    }
+}
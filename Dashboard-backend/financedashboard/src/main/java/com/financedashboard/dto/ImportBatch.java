@@ -0,0 +1,4 @@
+package com.financedashboard.dto;
+
+public record ImportBatch(int batch, int accepted, int rejected) {
+}
@@ -0,0 +1,7 @@
+package com.financedashboard.dto;
+
+import java.util.List;
+
+// Outcome of a streaming import; errors holds the first few rejected records with their line numbers.
+public record ImportResult(long accepted, long rejected, List<ImportBatch> batches, List<String> errors) {
+}
@@ -0,0 +1,30 @@
+package com.financedashboard.dto;
+
+import com.financedashboard.entities.Money;
+
+import java.time.LocalDate;
+
+// One income or expense record as read from an import stream, before it becomes an entity.
+public record ImportRow(Long userId, String category, Double amount, LocalDate date, String description, String currency) {
+
+    public String validate() {
+        if (userId == null) {
+            return "userId is required";
+        }
+        if (category == null || category.isBlank()) {
+            return "category is required";
+        }
+        if (amount == null || amount.isNaN() || amount.isInfinite() || amount < 0) {
+            return "amount must be a non-negative number";
+        }
+        if (date == null) {
+            return "date is required";
+        }
+        try {
+            Money.currencyCode(currency);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.financedashboard.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+// Position of the last row of a page in (date, id) order, encoded as an opaque URL-safe token.
+public record KeysetCursor(LocalDate date, Long id) {
+
+    public String encode() {
+        String raw = date + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf('_');
+            return new KeysetCursor(LocalDate.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
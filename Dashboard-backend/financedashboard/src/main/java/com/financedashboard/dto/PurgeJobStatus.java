@@ -0,0 +1,19 @@
+package com.financedashboard.dto;
+
+import com.financedashboard.service.event.UserDataKind;
+
+import java.time.Instant;
+import java.util.Map;
+
+// rowsDeleted counts tracker rows per kind; rowsPerSecond is measured over the time the job has run so far.
+public record PurgeJobStatus(
+        String jobId,
+        Long userId,
+        PurgeState state,
+        Map<UserDataKind, Long> rowsDeleted,
+        long totalRows,
+        double rowsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String error) {
+}
@@ -0,0 +1,8 @@
+package com.financedashboard.dto;
+
+public enum PurgeState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.financedashboard.dto;
+
+// One materializer run: rules that had occurrences written, the rows written per tracker, and
+// the age in seconds of the oldest occurrence still due when the run finished (0 when caught up).
+public record RecurringRunResult(int rules, long expenseRows, long incomeRows, long elapsedMillis, long lagSeconds) {
+}
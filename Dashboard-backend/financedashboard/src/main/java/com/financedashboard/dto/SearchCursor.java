@@ -0,0 +1,24 @@
+package com.financedashboard.dto;
+
+import com.financedashboard.service.event.UserDataKind;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position of the last hit of a search page in (score desc, kind, id) order, as an opaque token.
+public record SearchCursor(double score, UserDataKind kind, Long id) {
+
+    public String encode() {
+        String raw = score + "_" + kind + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("_");
+            return new SearchCursor(Double.parseDouble(parts[0]), UserDataKind.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
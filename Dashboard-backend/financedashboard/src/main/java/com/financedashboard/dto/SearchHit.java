@@ -0,0 +1,39 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.financedashboard.entities.Money;
+import com.financedashboard.service.event.UserDataKind;
+
+import java.time.LocalDate;
+
+// One matching expense or income row; higher scores rank first.
+public record SearchHit(
+        UserDataKind kind,
+        Long id,
+        Long userId,
+        String category,
+        @JsonIgnore Long amountMinor,
+        String currency,
+        LocalDate date,
+        String description,
+        double score) {
+
+    @JsonProperty
+    public Double amount() {
+        return Money.toMajor(amountMinor, currency);
+    }
+
+    public SearchHit withScore(double score) {
+        return new SearchHit(kind, id, userId, category, amountMinor, currency, date, description, score);
+    }
+
+    // Result order: score descending, then kind name and id, so equal scores page deterministically.
+    public boolean isAfter(SearchCursor cursor) {
+        if (score != cursor.score()) {
+            return score < cursor.score();
+        }
+        int byKind = kind.name().compareTo(cursor.kind().name());
+        return byKind != 0 ? byKind > 0 : id > cursor.id();
+    }
+}
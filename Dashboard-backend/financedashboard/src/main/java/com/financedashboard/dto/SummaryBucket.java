@@ -0,0 +1,24 @@
+package com.financedashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.financedashboard.entities.Money;
+
+// One aggregated row of a summary: a category name, "2024-03" for months or "2024-W09" for ISO weeks.
+// Totals are summed in minor units of currency; "total" is only converted to major units for the response.
+public record SummaryBucket(String key, @JsonIgnore long totalMinor, long count, @JsonIgnore String currency) {
+
+    // In the default currency until in() says otherwise.
+    public SummaryBucket(String key, long totalMinor, long count) {
+        this(key, totalMinor, count, null);
+    }
+
+    public SummaryBucket in(String currency) {
+        return new SummaryBucket(key, totalMinor, count, currency);
+    }
+
+    @JsonProperty
+    public double total() {
+        return Money.toMajor(totalMinor, currency);
+    }
+}
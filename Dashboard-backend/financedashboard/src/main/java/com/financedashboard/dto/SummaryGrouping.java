@@ -0,0 +1,11 @@
+package com.financedashboard.dto;
+
+public enum SummaryGrouping {
+    CATEGORY,
+    MONTH,
+    WEEK;
+
+    public static SummaryGrouping from(String value) {
+        return SummaryGrouping.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,16 @@
+package com.financedashboard.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record SummaryResponse(
+        Long userId,
+        LocalDate from,
+        LocalDate to,
+        SummaryGrouping groupBy,
+        String currency,
+        double totalIncome,
+        double totalExpense,
+        List<SummaryBucket> income,
+        List<SummaryBucket> expense) {
+}
@@ -1,35 +1,50 @@
 package com.financedashboard.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 
+@DynamicUpdate
 @Entity
 @Table(name = "ExpenseTracker")
 public class Expense {
 
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_tracker_seq", allocationSize = 50)
     private Long id;
     
     private Long userId;
     private String category;
+    private Long amountMinor;
+    // The amount as given: its minor units depend on the currency, which may be set after it.
+    @Transient
     private Double amount;
+    // ISO 4217 code; null means the configured default currency.
+    private String currency;
     private LocalDate date;
     private String description;
 
+    // Checked on every update so concurrent edits fail instead of overwriting each other.
+    @Version
+    private Long version;
+
     public Expense() {}
 
     public Expense(Long userId, String category, Double amount, LocalDate date, String description) {
         this.userId=userId;
         this.category = category;
         this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, null);
         this.date = date;
         this.description = description;
     }
 
     @Override
     public String toString() {
-        return "Expense [UserId=" + userId + ", category=" + category + ", amount=" + amount + ", date=" + date + "description=" + description + "]";
+        return "Expense [UserId=" + userId + ", category=" + category + ", amount=" + getAmount() + ", date=" + date + "description=" + description + "]";
     }
 
     public Long getId() {
@@ -57,11 +72,39 @@ public class Expense {
     }
 
     public Double getAmount() {
-        return amount;
+        return Money.toMajor(amountMinor, currency);
     }
 
     public void setAmount(Double amount) {
         this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, currency);
+    }
+
+    @JsonIgnore
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+
+    @JsonIgnore
+    public void setAmountMinor(Long amountMinor) {
+        this.amountMinor = amountMinor;
+        this.amount = null;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    // Keeps the major amount.
+    public void setCurrency(String currency) {
+        String code = Money.currencyCode(currency);
+        this.amountMinor = amountMinorIn(code);
+        this.currency = code;
+    }
+
+    // The amount in another currency's minor units: an amount as given is rounded again, a stored one rescaled.
+    public Long amountMinorIn(String currency) {
+        return amount != null ? Money.toMinor(amount, currency) : Money.rescale(amountMinor, this.currency, currency);
     }
 
     public LocalDate getDate() {
@@ -79,4 +122,12 @@ public class Expense {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
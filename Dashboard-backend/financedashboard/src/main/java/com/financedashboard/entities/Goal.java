@@ -2,8 +2,11 @@ package com.financedashboard.entities;
 
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
+@DynamicUpdate
 @Entity
 @Table(name = "GoalsTracker")
 public class Goal {
@@ -14,17 +17,24 @@ public class Goal {
 
     private Long userId;
     private String category;
+    private Long amountMinor;
+    @Transient
     private Double amount;
+    private String currency;
     private LocalDate startDate;
     private LocalDate endDate;
     private String description;
     private String type;
+
+    @Version
+    private Long version;
     
     public Goal() {}
     public Goal(Long userId, String category, Double amount, LocalDate startDate, LocalDate endDate, String description,String type) {
         this.userId = userId;
         this.category = category;
         this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, null);
         this.startDate = startDate;
         this.endDate = endDate;
         this.description = description;
@@ -33,7 +43,7 @@ public class Goal {
 
     @Override
     public String toString() {
-        return "Goal [UserId=" + userId + ", category=" + category + ", amount=" + amount + ", startDate=" + startDate + ", endDate=" + endDate + "description=" + description + " type=" + type + "]";
+        return "Goal [UserId=" + userId + ", category=" + category + ", amount=" + getAmount() + ", startDate=" + startDate + ", endDate=" + endDate + "description=" + description + " type=" + type + "]";
     }
 
     public Long getId() {
@@ -55,10 +65,31 @@ public class Goal {
         this.category = category;
     }
     public Double getAmount() {
-        return amount;
+        return Money.toMajor(amountMinor, currency);
     }
     public void setAmount(Double amount) {
         this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, currency);
+    }
+    @JsonIgnore
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+    @JsonIgnore
+    public void setAmountMinor(Long amountMinor) {
+        this.amountMinor = amountMinor;
+        this.amount = null;
+    }
+    public String getCurrency() {
+        return currency;
+    }
+    public void setCurrency(String currency) {
+        String code = Money.currencyCode(currency);
+        this.amountMinor = amountMinorIn(code);
+        this.currency = code;
+    }
+    public Long amountMinorIn(String currency) {
+        return amount != null ? Money.toMinor(amount, currency) : Money.rescale(amountMinor, this.currency, currency);
     }
     public LocalDate getStartDate() {
         return startDate;
@@ -84,5 +115,11 @@ public class Goal {
     public void setType(String type) {
         this.type = type;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 
 }
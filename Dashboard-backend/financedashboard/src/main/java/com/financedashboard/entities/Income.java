@@ -1,34 +1,47 @@
 package com.financedashboard.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 
+@DynamicUpdate
 @Entity
 @Table(name = "IncomeTracker")
 public class Income {
 
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "income_seq")
+    @SequenceGenerator(name = "income_seq", sequenceName = "income_tracker_seq", allocationSize = 50)
     private Long id;
 
     private Long userId;
     private String category;
+    private Long amountMinor;
+    @Transient
     private Double amount;
+    private String currency;
     private LocalDate date;
     private String description;
 
+    // Checked on every update so concurrent edits fail instead of overwriting each other.
+    @Version
+    private Long version;
+
     // Getters and Setters
     public Income() {}
     public Income(Long userId, String category, Double amount, LocalDate date, String description) {
         this.userId=userId;
         this.category = category;
         this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, null);
         this.date = date;
         this.description = description;
     }   
     @Override
     public String toString() {
-        return "Income [UserId=" + userId + ", category=" + category + ", amount=" + amount + ", date=" + date + "description=" + description + "]";
+        return "Income [UserId=" + userId + ", category=" + category + ", amount=" + getAmount() + ", date=" + date + "description=" + description + "]";
     }
     public Long getId() {
         return id;
@@ -49,10 +62,34 @@ public class Income {
         this.category = category;
     }
     public Double getAmount() {
-        return amount;
+        return Money.toMajor(amountMinor, currency);
     }
     public void setAmount(Double amount) {
         this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, currency);
+    }
+    @JsonIgnore
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+    @JsonIgnore
+    public void setAmountMinor(Long amountMinor) {
+        this.amountMinor = amountMinor;
+        this.amount = null;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        String code = Money.currencyCode(currency);
+        this.amountMinor = amountMinorIn(code);
+        this.currency = code;
+    }
+
+    public Long amountMinorIn(String currency) {
+        return amount != null ? Money.toMinor(amount, currency) : Money.rescale(amountMinor, this.currency, currency);
     }
     public LocalDate getDate() {
         return date;
@@ -66,4 +103,12 @@ public class Income {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
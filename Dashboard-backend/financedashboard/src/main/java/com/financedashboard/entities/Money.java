@@ -0,0 +1,74 @@
+package com.financedashboard.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+
+// Amounts are stored as whole minor units in BIGINT columns so sums are exact; the API keeps
+// exchanging decimal major units, converted here at the edges. The minor unit is the currency's
+// ISO 4217 one (JPY 0 digits, INR 2, KWD 3); a null currency is the default currency.
+public final class Money {
+
+    private static final double[] POWERS_OF_TEN = {1d, 10d, 100d, 1_000d, 10_000d};
+
+    private static volatile String defaultCurrency = "INR";
+
+    private Money() {}
+
+    // financedashboard.currency.default, set once at startup.
+    public static void setDefaultCurrency(String code) {
+        defaultCurrency = currencyCode(code);
+    }
+
+    public static String defaultCurrency() {
+        return defaultCurrency;
+    }
+
+    // Currencies without a minor unit of their own (gold, SDR) keep two decimals.
+    public static int fractionDigits(String currency) {
+        int digits = Currency.getInstance(currency != null ? currency : defaultCurrency).getDefaultFractionDigits();
+        return digits >= 0 ? digits : 2;
+    }
+
+    public static Long toMinor(Double major, String currency) {
+        if (major == null) {
+            return null;
+        }
+        if (major.isNaN() || major.isInfinite()) {
+            throw new IllegalArgumentException("amount must be a finite number");
+        }
+        return BigDecimal.valueOf(major).setScale(fractionDigits(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static Double toMajor(Long minor, String currency) {
+        return minor != null ? toMajor(minor.longValue(), currency) : null;
+    }
+
+    // Exact for any amount below 2^53 minor units: the nearest double to the decimal value.
+    public static double toMajor(long minor, String currency) {
+        return minor / POWERS_OF_TEN[fractionDigits(currency)];
+    }
+
+    // The same major amount in another currency's minor units, rounded half up.
+    public static Long rescale(Long minor, String from, String to) {
+        int shift = fractionDigits(to) - fractionDigits(from);
+        if (minor == null || shift == 0) {
+            return minor;
+        }
+        return BigDecimal.valueOf(minor).movePointRight(shift).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Upper-cased ISO 4217 code, or null; anything else is rejected.
+    public static String currencyCode(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        try {
+            return Currency.getInstance(normalized).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown currency code: " + code);
+        }
+    }
+}
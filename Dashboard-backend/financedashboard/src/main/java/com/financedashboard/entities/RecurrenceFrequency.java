@@ -0,0 +1,22 @@
+package com.financedashboard.entities;
+
+import java.time.LocalDate;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    // Always measured from the start date, so a rule starting on the 31st lands on the last day
+    // of shorter months and returns to the 31st afterwards instead of drifting.
+    public LocalDate occurrence(LocalDate start, long index, int interval) {
+        long units = index * interval;
+        return switch (this) {
+            case DAILY -> start.plusDays(units);
+            case WEEKLY -> start.plusWeeks(units);
+            case MONTHLY -> start.plusMonths(units);
+            case YEARLY -> start.plusYears(units);
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.financedashboard.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+@DynamicUpdate
+@Entity
+@Table(name = "RecurringRule")
+public class RecurringRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+    // EXPENSE or INCOME: the tracker the occurrences are written to.
+    private String kind;
+    private String category;
+    private Long amountMinor;
+    @Transient
+    private Double amount;
+    private String currency;
+    private String description;
+    // Plain varchar on every database; H2 would otherwise expect a native ENUM column.
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private RecurrenceFrequency frequency;
+    private Integer intervalCount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Maintained by the materializer: the next occurrence due, and how many have been written.
+    private LocalDate nextDate;
+    private Long occurrences;
+
+    @Version
+    private Long version;
+
+    public RecurringRule() {}
+
+    public RecurringRule(Long userId, String kind, String category, Double amount, RecurrenceFrequency frequency,
+                         LocalDate startDate, String description) {
+        this.userId = userId;
+        this.kind = kind;
+        this.category = category;
+        this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, null);
+        this.frequency = frequency;
+        this.intervalCount = 1;
+        this.startDate = startDate;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Double getAmount() {
+        return Money.toMajor(amountMinor, currency);
+    }
+
+    public void setAmount(Double amount) {
+        this.amount = amount;
+        this.amountMinor = Money.toMinor(amount, currency);
+    }
+
+    @JsonIgnore
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+
+    @JsonIgnore
+    public void setAmountMinor(Long amountMinor) {
+        this.amountMinor = amountMinor;
+        this.amount = null;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        String code = Money.currencyCode(currency);
+        this.amountMinor = amount != null ? Money.toMinor(amount, code) : Money.rescale(amountMinor, this.currency, code);
+        this.currency = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getIntervalCount() {
+        return intervalCount;
+    }
+
+    public void setIntervalCount(Integer intervalCount) {
+        this.intervalCount = intervalCount;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getNextDate() {
+        return nextDate;
+    }
+
+    public void setNextDate(LocalDate nextDate) {
+        this.nextDate = nextDate;
+    }
+
+    public Long getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Long occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
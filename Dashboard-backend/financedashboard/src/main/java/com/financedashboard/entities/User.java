@@ -5,7 +5,10 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
 
+@DynamicUpdate
 @Entity
 @Table(name = "users")
 public class User {
@@ -17,6 +20,9 @@ public class User {
     private String email;
     private String password;
 
+    @Version
+    private Long version;
+
     public User() {}
 
     public User(String name, String email, String password) {
@@ -56,5 +62,11 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     
 }
@@ -0,0 +1,38 @@
+package com.financedashboard.financedashboard;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String INCOMES_BY_USER = "incomesByUser";
+    public static final String EXPENSES_BY_USER = "expensesByUser";
+    public static final String GOALS_BY_USER = "goalsByUser";
+
+    // Entries are per-user lists, so they are weighed by row count rather than counted.
+    // Caches are created up front so the actuator binds their hit/miss/eviction metrics.
+    @Bean
+    public CacheManager cacheManager(@Value("${financedashboard.cache.max-rows:500000}") long maxRows,
+                                     @Value("${financedashboard.cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Object key, Object value) -> value instanceof Collection<?> rows ? rows.size() + 1 : 1)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(INCOMES_BY_USER, EXPENSES_BY_USER, GOALS_BY_USER));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,127 @@
+package com.financedashboard.financedashboard;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every call through a bean proxy into a timer tagged with class and method, and for
+// repositories also records the rows each call returned or wrote. The meters of a method are looked
+// up once and kept, so a successful call costs two nanoTime reads and the timer's lock-free
+// counters; only failures go through the registry, to tag the exception.
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    private record Meters(String className, String methodName, Timer timer, DistributionSummary rows) {
+    }
+
+    private final String metricName;
+    private final String className;
+    private final boolean countRows;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    // className names the tag for proxies whose methods are declared on shared supertypes (Spring
+    // Data repositories); null tags each call with the method's declaring class.
+    public MethodMetricsInterceptor(String metricName, String className, boolean countRows,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.metricName = metricName;
+        this.className = className;
+        this.countRows = countRows;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Meters meters = meters(invocation.getMethod());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            Timer.builder(metricName)
+                    .tags("class", meters.className(), "method", meters.methodName(), "exception", e.getClass().getSimpleName())
+                    .register(registry())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        meters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (meters.rows() != null) {
+            long rows = rows(result);
+            if (rows >= 0) {
+                meters.rows().record(rows);
+            }
+        }
+        return result;
+    }
+
+    private Meters meters(Method method) {
+        Meters existing = meters.get(method);
+        return existing != null ? existing : meters.computeIfAbsent(method, this::register);
+    }
+
+    private Meters register(Method method) {
+        String owner = className != null ? className : method.getDeclaringClass().getSimpleName();
+        MeterRegistry registry = registry();
+        Timer timer = Timer.builder(metricName)
+                .tags("class", owner, "method", method.getName(), "exception", "none")
+                .register(registry);
+        DistributionSummary rows = countRows && returnsRows(method)
+                ? DistributionSummary.builder(metricName + ".rows")
+                        .tags("class", owner, "method", method.getName())
+                        .description("Rows returned or written per call")
+                        .register(registry)
+                : null;
+        return new Meters(owner, method.getName(), timer, rows);
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getObject();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    // The result shapes repositories return rows in. A bare int is the count of an update; boxed
+    // numbers are aggregates and streams are consumed after the call, so neither is counted.
+    private static boolean returnsRows(Method method) {
+        Class<?> type = method.getReturnType();
+        return Collection.class.isAssignableFrom(type) || Slice.class.isAssignableFrom(type)
+                || type == Optional.class || type == int[].class || type == int.class;
+    }
+
+    static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        return -1;
+    }
+}
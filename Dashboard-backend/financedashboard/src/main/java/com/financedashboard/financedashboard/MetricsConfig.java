@@ -0,0 +1,86 @@
+package com.financedashboard.financedashboard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// Latency broken down by layer, exported on /actuator/prometheus next to Boot's per-endpoint
+// http.server.requests timers:
+//   financedashboard.service             public methods of the service implementations, including
+//                                        the transaction commit and Hibernate flush
+//   financedashboard.repository          repository methods, Spring Data and JDBC alike, with
+//   financedashboard.repository.rows     the rows each call returned or wrote
+//   financedashboard.http.response.size  response body bytes per endpoint
+// Endpoint time not spent in services is mostly JSON serialization.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MetricsPostProcessor("com.financedashboard.service.impl",
+                new MethodMetricsInterceptor("financedashboard.service", null, false, meterRegistry));
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MetricsPostProcessor("com.financedashboard.DBBean",
+                new MethodMetricsInterceptor("financedashboard.repository", null, true, meterRegistry));
+    }
+
+    // Spring Data repositories are proxies built by their factory beans; the interceptor goes into
+    // each proxy as it is created, named after the repository interface.
+    @Bean
+    public static BeanPostProcessor springDataMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(0, new MethodMetricsInterceptor(
+                                    "financedashboard.repository", repository.getRepositoryInterface().getSimpleName(),
+                                    true, meterRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseSizeFilter> responseSizeFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseSizeFilter> registration = new FilterRegistrationBean<>(new ResponseSizeFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    // Adds the timing advice to the public methods of beans declared in one package, in front of
+    // any advice (transactions) the bean already has.
+    private static final class MetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        private static final long serialVersionUID = 1L;
+
+        private MetricsPostProcessor(String packageName, MethodMetricsInterceptor interceptor) {
+            ClassFilter inPackage = type -> type.getPackageName().equals(packageName);
+            ComposablePointcut pointcut = new ComposablePointcut(inPackage).intersection(new StaticMethodMatcher() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+                }
+            });
+            this.advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+            setBeforeExistingAdvisors(true);
+            setProxyTargetClass(true);
+        }
+    }
+}
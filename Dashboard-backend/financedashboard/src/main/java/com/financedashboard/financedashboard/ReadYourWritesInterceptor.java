@@ -0,0 +1,83 @@
+package com.financedashboard.financedashboard;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// Pins a request to the primary when the user it reads (the userId path variable or request
+// parameter) has written recently. The pin is cleared when the request thread is done with it,
+// which for an async request is when the handler returns, not when the response completes.
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PINNED_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".pinned";
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = userIdOf(request);
+        if (userId != null && tracker.recentlyWrote(userId)) {
+            ReplicaRouting.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRouting.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRouting.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables != null ? variables.get("userId") : null;
+        if (value == null) {
+            value = request.getParameter("userId");
+        }
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Carries the pin into the async part of a request (a StreamingResponseBody or Callable), which
+    // runs on an executor thread after the handler has returned.
+    public static final class AsyncPropagation implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (ReplicaRouting.isPrimaryRequired()) {
+                request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            if (request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                ReplicaRouting.requirePrimary();
+            }
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+            ReplicaRouting.clear();
+        }
+    }
+}
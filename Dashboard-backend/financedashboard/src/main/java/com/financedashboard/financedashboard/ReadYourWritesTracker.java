@@ -0,0 +1,33 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+// Users whose data was written on this node within the read-your-writes window. Replicas may not
+// have replayed those writes yet, so these users' reads stay on the primary until it passes.
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (event.userId() != null) {
+            recentWriters.put(event.userId(), Boolean.TRUE);
+        }
+    }
+
+    public boolean recentlyWrote(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.financedashboard.financedashboard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Connections for read-only transactions: the next healthy replica in round-robin order, or the
+// primary when ReplicaRouting requires it or no replica is usable. A replica that fails to hand out
+// a connection is taken out at once; the health check puts it back once it answers again and, on
+// Postgres, has replayed to within max-lag of its primary.
+// financedashboard.datasource.reads counts connections by target (primary, replica-0, ...).
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    // Zero when the server is not a standby or has replayed everything it received.
+    private static final String POSTGRES_LAG = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    public record ReplicaStatus(String url, boolean healthy, long reads) {
+    }
+
+    private static final class Replica {
+        private final String url;
+        private final HikariDataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+
+        private Replica(String url, HikariDataSource dataSource, Counter reads) {
+            this.url = url;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Counter primaryReads;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.primaryReads = reads(meterRegistry, "primary");
+        for (int i = 0; i < replicaPools.size(); i++) {
+            HikariDataSource pool = replicaPools.get(i);
+            Replica replica = new Replica(pool.getJdbcUrl(), pool, reads(meterRegistry, "replica-" + i));
+            Gauge.builder("financedashboard.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("target", "replica-" + i)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReplicaRouting.isPrimaryRequired() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException | RuntimeException e) {
+                    replica.healthy = false;
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${financedashboard.replicas.health-interval:PT10S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(2) && lagSeconds(replica, connection) <= maxLag.toSeconds();
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public List<ReplicaStatus> status() {
+        return replicas.stream().map(r -> new ReplicaStatus(r.url, r.healthy, (long) r.reads.count())).toList();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static double lagSeconds(Replica replica, Connection connection) throws SQLException {
+        if (DatabaseDriver.fromJdbcUrl(replica.url) != DatabaseDriver.POSTGRESQL) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(POSTGRES_LAG)) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("financedashboard.datasource.reads")
+                .tag("target", target)
+                .description("Connections handed out for read-only transactions")
+                .register(meterRegistry);
+    }
+}
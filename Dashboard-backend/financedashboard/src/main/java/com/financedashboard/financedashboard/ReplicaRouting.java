@@ -0,0 +1,39 @@
+package com.financedashboard.financedashboard;
+
+import java.util.function.Supplier;
+
+// Per-thread override that keeps read-only transactions on the primary, set for requests from a
+// user who has just written (see ReadYourWritesInterceptor). Work handed to another thread must
+// carry it over with propagate(); the async part of a request gets it from AsyncPropagation.
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaRouting() {}
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        if (!isPrimaryRequired()) {
+            return task;
+        }
+        return () -> {
+            requirePrimary();
+            try {
+                return task.get();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
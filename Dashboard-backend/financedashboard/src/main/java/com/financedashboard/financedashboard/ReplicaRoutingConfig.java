@@ -0,0 +1,92 @@
+package com.financedashboard.financedashboard;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Sends @Transactional(readOnly = true) work to read replicas when financedashboard.replicas.urls is
+// set. The application DataSource becomes a lazy proxy over the primary pool: the physical
+// connection is only fetched at the first statement, after the JPA dialect has marked the
+// transaction read-only, so read-only transactions are served by ReplicaDataSource and the rest by
+// the primary. Flyway and Hibernate's startup metadata go through the same proxy to the primary.
+@Configuration
+@ConditionalOnProperty(name = "financedashboard.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                               @Value("${financedashboard.replicas.urls}") String[] urls,
+                                               @Value("${financedashboard.replicas.username:${spring.datasource.username:}}") String username,
+                                               @Value("${financedashboard.replicas.password:${spring.datasource.password:}}") String password,
+                                               @Value("${financedashboard.replicas.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+                                               @Value("${financedashboard.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+                                               @Value("${financedashboard.replicas.max-lag:PT5S}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(urls[i].trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // An unreachable replica must not stop the application from starting; it is simply
+            // marked unhealthy on first use.
+            config.setInitializationFailTimeout(-1);
+            pools.add(new HikariDataSource(config));
+        }
+        return new ReplicaDataSource(primaryDataSource, pools, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${financedashboard.replicas.read-your-writes:PT5S}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesConfigurer(ReadYourWritesTracker readYourWritesTracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesTracker)).addPathPatterns("/api/**");
+            }
+
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new ReadYourWritesInterceptor.AsyncPropagation());
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.financedashboard.financedashboard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs the @Scheduled jobs (the recurring-rule materializer) on Spring Boot's auto-configured
+// scheduler. No TaskScheduler bean is declared here on purpose: a scheduler is also an Executor,
+// and defining one would stop Boot from creating applicationTaskExecutor, which purges run on.
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "financedashboard.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,54 @@
+package com.financedashboard.financedashboard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StatementCountConfig {
+
+    // Only the application DataSource is wrapped. With replicas configured it is the lazy routing
+    // proxy, so wrapping the pools behind it as well would count every statement twice.
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${financedashboard.sql.warn-threshold:50}") int warnThreshold,
+            @Value("${financedashboard.sql.repeat-threshold:10}") int repeatThreshold,
+            @Value("${financedashboard.sql.sample-rate:0.01}") double sampleRate) {
+        FilterRegistrationBean<StatementCountFilter> registration = new FilterRegistrationBean<>(
+                new StatementCountFilter(meterRegistry, warnThreshold, repeatThreshold, sampleRate));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer statementCountAsyncConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new StatementCountFilter.AsyncPropagation());
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.financedashboard.financedashboard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Counts the statements each request issues (financedashboard.sql.statements). A request over
+// warnThreshold increments financedashboard.sql.budget.exceeded and logs a warning. A sampleRate
+// share of requests also keep their SQL: it is logged, and a statement repeated repeatThreshold
+// times or more (the N+1 shape) increments financedashboard.sql.repeated. This replaces show-sql.
+// An async request (a streamed export or archive read) is recorded when its response completes, and
+// AsyncPropagation counts the statements of its async part in the same scope.
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+    private final double sampleRate;
+
+    public StatementCountFilter(MeterRegistry meterRegistry, int warnThreshold, int repeatThreshold, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        StatementCounter.Scope scope = StatementCounter.open(sampled);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnCompletion(request, scope));
+            } else {
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        int count = scope.count();
+        DistributionSummary.builder("financedashboard.sql.statements")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(count);
+        if (count > warnThreshold) {
+            Counter.builder("financedashboard.sql.budget.exceeded")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} issued {} statements (threshold {})", method, uri, count, warnThreshold);
+        }
+        if (scope.isSampled()) {
+            List<String> statements = scope.statements();
+            log.info("{} {} issued {} statements: {}", method, uri, count, statements);
+            Map.Entry<String, Long> mostRepeated = statements.stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                    .entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+            if (mostRepeated != null && mostRepeated.getValue() >= repeatThreshold) {
+                Counter.builder("financedashboard.sql.repeated")
+                        .tags("method", method, "uri", uri)
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("{} {} ran the same statement {} times: {}", method, uri, mostRepeated.getValue(), mostRepeated.getKey());
+            }
+        }
+    }
+
+    private final class RecordOnCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final StatementCounter.Scope scope;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private RecordOnCompletion(HttpServletRequest request, StatementCounter.Scope scope) {
+            this.request = request;
+            this.scope = scope;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            recordOnce();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            recordOnce();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            recordOnce();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void recordOnce() {
+            if (recorded.compareAndSet(false, true)) {
+                record(request, scope);
+            }
+        }
+    }
+
+    // Runs the async part of a request (a StreamingResponseBody or Callable) in the scope that was
+    // open when the handler returned.
+    public static final class AsyncPropagation implements CallableProcessingInterceptor {
+
+        private static final String SCOPE_ATTRIBUTE = AsyncPropagation.class.getName() + ".scope";
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            StatementCounter.Scope scope = StatementCounter.current();
+            if (scope != null) {
+                request.setAttribute(SCOPE_ATTRIBUTE, scope, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            if (request.getAttribute(SCOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof StatementCounter.Scope scope) {
+                StatementCounter.resume(scope);
+            }
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+            StatementCounter.release();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.financedashboard.financedashboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Counts the SQL statements issued on the current thread while a Scope is open, as reported by
+// StatementCountingDataSource; a JDBC batch counts once, so a per-row insert or delete shows up as a
+// count that grows with the rows. Sampled scopes also keep the statement text. Scopes nest (a test
+// budget around a request), and every open scope on the thread sees each statement.
+public final class StatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {}
+
+    static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+    }
+
+    public static Scope open(boolean sampled) {
+        Scope scope = new Scope(CURRENT.get(), sampled);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // Runs the task on another thread within the caller's scopes.
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            resume(scope);
+            try {
+                return task.get();
+            } finally {
+                release();
+            }
+        };
+    }
+
+    // The innermost open scope, for work that continues on another thread without a task to wrap.
+    static Scope current() {
+        return CURRENT.get();
+    }
+
+    // Makes scope, captured with current() on another thread, the current one here until release().
+    static void resume(Scope scope) {
+        CURRENT.set(scope);
+    }
+
+    static void release() {
+        CURRENT.remove();
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final AtomicInteger count = new AtomicInteger();
+        private final List<String> statements;
+
+        private Scope(Scope parent, boolean sampled) {
+            this.parent = parent;
+            this.statements = sampled ? Collections.synchronizedList(new ArrayList<>()) : null;
+        }
+
+        private void record(String sql) {
+            count.incrementAndGet();
+            if (statements != null) {
+                statements.add(sql);
+            }
+        }
+
+        public int count() {
+            return count.get();
+        }
+
+        public boolean isSampled() {
+            return statements != null;
+        }
+
+        // Empty unless the scope is sampled.
+        public List<String> statements() {
+            if (statements == null) {
+                return List.of();
+            }
+            synchronized (statements) {
+                return List.copyOf(statements);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
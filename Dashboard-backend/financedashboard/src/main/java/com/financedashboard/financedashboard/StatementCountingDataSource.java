@@ -0,0 +1,84 @@
+package com.financedashboard.financedashboard;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Hands out connections that report every statement to StatementCounter, whoever issues it:
+// Hibernate, JdbcTemplate and Flyway all go through here. A prepared or callable statement counts
+// once when it is prepared, however many times it is executed or batched; a plain Statement counts
+// each execute call.
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(Connection.class, super.getConnection(username, password));
+    }
+
+    private static <T> T counting(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, new CountingHandler(target)));
+    }
+
+    private static final class CountingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        private CountingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Counting " + target;
+                case "prepareStatement", "prepareCall":
+                    StatementCounter.record((String) args[0]);
+                    break;
+                case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate":
+                    if (target instanceof Statement && args != null && args[0] instanceof String sql) {
+                        StatementCounter.record(sql);
+                    }
+                    break;
+                case "executeBatch", "executeLargeBatch":
+                    if (target instanceof Statement) {
+                        StatementCounter.record("<statement batch>");
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (target instanceof Connection && method.getName().equals("createStatement")) {
+                return counting(Statement.class, (Statement) result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.financedashboard.financedashboard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// With spring.threads.virtual.enabled=true Spring Boot runs Tomcat requests and async tasks on
+// virtual threads. Nothing then stops thousands of requests from blocking on Hikari at once, so
+// /api requests pass through a guard sized to the connection pool.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${financedashboard.concurrency.max-in-flight:${spring.datasource.hikari.maximum-pool-size:10}}") int maxInFlight,
+            @Value("${financedashboard.concurrency.acquire-timeout:2s}") Duration acquireTimeout) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxInFlight, acquireTimeout));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
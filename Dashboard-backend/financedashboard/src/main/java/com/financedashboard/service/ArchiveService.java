@@ -0,0 +1,19 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.ArchivedRow;
+import com.financedashboard.service.event.UserDataKind;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+public interface ArchiveService {
+
+    interface RowHandler {
+        void accept(ArchivedRow row) throws IOException;
+    }
+
+    int archiveDue() throws IOException;
+    int archiveBefore(LocalDate cutoff) throws IOException;
+    void readArchived(Long userId, UserDataKind kind, LocalDate from, LocalDate to, RowHandler handler) throws IOException;
+    int purgeArchived(Long userId, UserDataKind kind) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.DashboardResponse;
+import com.financedashboard.dto.DashboardSection;
+
+import java.util.Set;
+
+public interface DashboardService {
+    DashboardResponse getDashboard(Long userId, Set<DashboardSection> sections);
+}
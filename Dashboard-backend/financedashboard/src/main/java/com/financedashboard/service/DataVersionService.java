@@ -0,0 +1,8 @@
+package com.financedashboard.service;
+
+import com.financedashboard.service.event.UserDataKind;
+
+public interface DataVersionService {
+    // representation tells the encodings of the same list apart (json, cbor, ...).
+    String etag(Long userId, UserDataKind kind, String representation);
+}
@@ -1,13 +1,19 @@
 package com.financedashboard.service;
 
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.ExpenseView;
 import com.financedashboard.entities.Expense;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ExpenseService {
-    List<Expense> getAllExpenses();
-    List<Expense> getExpenseByUserId(Long userId);
+    List<ExpenseView> getAllExpenses();
+    List<ExpenseView> getExpenseByUserId(Long userId);
+    CursorPage<ExpenseView> getExpensePage(Long userId, LocalDate from, LocalDate to, String category, String cursor, int size);
     List<Expense> saveExpense(List<Expense> expense);
     Expense updateExpense(Long id, Expense expense);
+    Expense patchExpense(Long id, Expense changes);
     void deleteExpense(Long id);
-    void deleteAllExpenses(List<Long> ids);
+    int deleteAllExpenses(Long userId, List<Long> ids);
 }
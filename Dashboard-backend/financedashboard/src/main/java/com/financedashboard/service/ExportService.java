@@ -0,0 +1,11 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+    void exportUserData(Long userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException;
+}
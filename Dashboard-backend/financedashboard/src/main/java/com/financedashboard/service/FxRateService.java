@@ -0,0 +1,12 @@
+package com.financedashboard.service;
+
+import com.financedashboard.service.fx.FxRateTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface FxRateService {
+    int loadRates(InputStream csv) throws IOException;
+    FxRateTable rates();
+    String defaultCurrency();
+}
@@ -2,12 +2,16 @@ package com.financedashboard.service;
 
 import java.util.List;
 
+import com.financedashboard.dto.GoalProgress;
+import com.financedashboard.dto.GoalView;
 import com.financedashboard.entities.Goal;
 
 public interface GoalService {
-    List<Goal> getAllGoal();
-    List<Goal> getGoalByUserId(Long userId);
+    List<GoalView> getAllGoal();
+    List<GoalView> getGoalByUserId(Long userId);
+    List<GoalProgress> getGoalProgress(Long userId);
     Goal saveGoal(Goal goal);
     Goal updateGoal(Long id, Goal goal);
+    Goal patchGoal(Long id, Goal changes);
     void deleteGoal(Long id);
 }
@@ -0,0 +1,12 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.ImportFormat;
+import com.financedashboard.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportResult importExpenses(InputStream body, ImportFormat format) throws IOException;
+    ImportResult importIncome(InputStream body, ImportFormat format) throws IOException;
+}
@@ -1,13 +1,19 @@
 package com.financedashboard.service;
 
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.IncomeView;
 import com.financedashboard.entities.Income;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface IncomeService {
-    List<Income> getAllIncome();
-    List<Income> getIncomeByUserId(Long userId);
+    List<IncomeView> getAllIncome();
+    List<IncomeView> getIncomeByUserId(Long userId);
+    CursorPage<IncomeView> getIncomePage(Long userId, LocalDate from, LocalDate to, String category, String cursor, int size);
     List<Income> saveIncome(List<Income> income);
     Income updateIncome(Long id, Income income);
+    Income patchIncome(Long id, Income changes);
     void deleteIncome(Long id);
-    void deleteAllIncomes(List<Long> ids);
+    int deleteAllIncomes(Long userId, List<Long> ids);
 }
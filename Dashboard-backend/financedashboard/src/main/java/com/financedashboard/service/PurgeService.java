@@ -0,0 +1,9 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.PurgeJobStatus;
+
+public interface PurgeService {
+    PurgeJobStatus purgeUser(Long userId);
+    PurgeJobStatus startPurge(Long userId);
+    PurgeJobStatus getJob(String jobId);
+}
@@ -0,0 +1,13 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.RecurringRunResult;
+import com.financedashboard.entities.RecurringRule;
+
+import java.util.List;
+
+public interface RecurringRuleService {
+    List<RecurringRule> getRulesByUserId(Long userId);
+    List<RecurringRule> saveRules(List<RecurringRule> rules);
+    void deleteRule(Long id);
+    RecurringRunResult materializeDue();
+}
@@ -0,0 +1,6 @@
+package com.financedashboard.service;
+
+public interface RollupService {
+    void rebuildUser(Long userId);
+    int rebuildAll();
+}
@@ -0,0 +1,9 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.SearchHit;
+import com.financedashboard.service.event.UserDataKind;
+
+public interface SearchService {
+    CursorPage<SearchHit> search(Long userId, String query, UserDataKind kind, String cursor, int size);
+}
@@ -0,0 +1,11 @@
+package com.financedashboard.service;
+
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.dto.SummaryResponse;
+
+import java.time.LocalDate;
+
+public interface SummaryService {
+    SummaryResponse getSummary(Long userId, LocalDate from, LocalDate to, SummaryGrouping groupBy);
+    SummaryResponse getSummary(Long userId, LocalDate from, LocalDate to, SummaryGrouping groupBy, String reportingCurrency);
+}
@@ -8,6 +8,7 @@ public interface UserService {
     User getUserById(Long id);
     User saveUser(User user);
     User updateUser(Long id, User user);
+    User patchUser(Long id, User changes);
     void deleteUser(Long id);
     User getUserByEmail(String email);
 }
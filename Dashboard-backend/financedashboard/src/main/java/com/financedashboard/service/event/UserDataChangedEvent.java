@@ -0,0 +1,5 @@
+package com.financedashboard.service.event;
+
+// Published by the service impls after a user's income, expense or goal rows are written or deleted.
+public record UserDataChangedEvent(Long userId, UserDataKind kind) {
+}
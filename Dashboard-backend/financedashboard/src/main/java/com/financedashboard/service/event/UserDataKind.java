@@ -0,0 +1,7 @@
+package com.financedashboard.service.event;
+
+public enum UserDataKind {
+    INCOME,
+    EXPENSE,
+    GOAL
+}
@@ -0,0 +1,126 @@
+package com.financedashboard.service.fx;
+
+import com.financedashboard.dto.FxRate;
+import com.financedashboard.entities.Money;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable snapshot of the daily rates, laid out for conversion inside aggregation loops.
+//
+// Each currency gets one double[] indexed by (epoch day - first day), holding units of that
+// currency per unit of the base currency. Days without a quote (weekends, holidays) carry the
+// previous quote forward, so a lookup is two array reads whatever the day. Days after the last
+// quote use the last quote; days before a currency's first quote have no rate. The base
+// currency is always 1. Callers resolve currency codes to indexes once and then convert without
+// allocating.
+public final class FxRateTable {
+
+    private final String baseCurrency;
+    private final Map<String, Integer> indexes;
+    private final String[] currencies;
+    private final int[] fractionDigits;
+    private final long firstDay;
+    private final double[][] rates;
+
+    private FxRateTable(String baseCurrency, Map<String, Integer> indexes, String[] currencies, long firstDay, double[][] rates) {
+        this.baseCurrency = baseCurrency;
+        this.indexes = indexes;
+        this.currencies = currencies;
+        this.fractionDigits = Arrays.stream(currencies).mapToInt(Money::fractionDigits).toArray();
+        this.firstDay = firstDay;
+        this.rates = rates;
+    }
+
+    // rows must be ordered by currency and then date; quotes for the base currency are ignored.
+    public static FxRateTable of(String baseCurrency, List<FxRate> rows) {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        Map<String, Integer> indexes = new HashMap<>();
+        indexes.put(baseCurrency, 0);
+        for (FxRate row : rows) {
+            long day = row.date().toEpochDay();
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+            indexes.putIfAbsent(row.currency(), indexes.size());
+        }
+        int days = rows.isEmpty() ? 1 : Math.toIntExact(last - first + 1);
+        long firstDay = rows.isEmpty() ? 0 : first;
+
+        String[] currencies = new String[indexes.size()];
+        double[][] rates = new double[indexes.size()][];
+        indexes.forEach((code, index) -> currencies[index] = code);
+        int r = 0;
+        while (r < rows.size()) {
+            String currency = rows.get(r).currency();
+            int end = r;
+            while (end < rows.size() && rows.get(end).currency().equals(currency)) {
+                end++;
+            }
+            if (!currency.equals(baseCurrency)) {
+                rates[indexes.get(currency)] = fill(rows, r, end, firstDay, days);
+            }
+            r = end;
+        }
+        return new FxRateTable(baseCurrency, indexes, currencies, firstDay, rates);
+    }
+
+    private static double[] fill(List<FxRate> rows, int from, int to, long firstDay, int days) {
+        double[] series = new double[days];
+        Arrays.fill(series, Double.NaN);
+        for (int r = from; r < to; r++) {
+            FxRate row = rows.get(r);
+            int day = (int) (row.date().toEpochDay() - firstDay);
+            int next = r + 1 < to ? (int) (rows.get(r + 1).date().toEpochDay() - firstDay) : days;
+            Arrays.fill(series, day, next, row.rate());
+        }
+        return series;
+    }
+
+    public String baseCurrency() {
+        return baseCurrency;
+    }
+
+    // -1 for a currency without any rates.
+    public int indexOf(String currency) {
+        Integer index = indexes.get(currency);
+        return index != null ? index : -1;
+    }
+
+    public boolean hasRate(int currency, long epochDay) {
+        return !Double.isNaN(rate(currency, epochDay));
+    }
+
+    // Amounts are in each currency's own minor units, so JPY 100 is 100 but KWD 1 is 1000.
+    public long convert(long amountMinor, int from, int to, long epochDay) {
+        if (from == to) {
+            return amountMinor;
+        }
+        double fromRate = rate(from, epochDay);
+        double toRate = rate(to, epochDay);
+        if (Double.isNaN(fromRate) || Double.isNaN(toRate)) {
+            throw new IllegalArgumentException("No FX rate from " + name(from) + " to " + name(to)
+                    + " on " + LocalDate.ofEpochDay(epochDay));
+        }
+        double factor = toRate / fromRate * Math.pow(10, fractionDigits[to] - fractionDigits[from]);
+        return Math.round(amountMinor * factor);
+    }
+
+    private double rate(int currency, long epochDay) {
+        if (currency == 0) {
+            return 1d;
+        }
+        if (currency < 0 || epochDay < firstDay) {
+            return Double.NaN;
+        }
+        double[] series = rates[currency];
+        return series[(int) Math.min(epochDay - firstDay, series.length - 1)];
+    }
+
+    private String name(int currency) {
+        return currency >= 0 ? currencies[currency] : "an unknown currency";
+    }
+}
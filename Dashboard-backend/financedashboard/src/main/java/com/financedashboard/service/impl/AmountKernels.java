@@ -0,0 +1,25 @@
+package com.financedashboard.service.impl;
+
+// Summation over minor-unit amounts held in primitive arrays, for the aggregations done in
+// memory. Nothing is boxed or allocated per element, and an overflowing total throws
+// ArithmeticException instead of wrapping.
+public final class AmountKernels {
+
+    private AmountKernels() {}
+
+    public static long sum(long[] amounts, int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total = Math.addExact(total, amounts[i]);
+        }
+        return total;
+    }
+
+    // Adds amounts[i] to totals[keys[i]] for the first count elements; keys are dense indexes
+    // into totals, which the caller sizes and may reuse across calls.
+    public static void sumByKey(int[] keys, long[] amounts, int count, long[] totals) {
+        for (int i = 0; i < count; i++) {
+            totals[keys[i]] = Math.addExact(totals[keys[i]], amounts[i]);
+        }
+    }
+}
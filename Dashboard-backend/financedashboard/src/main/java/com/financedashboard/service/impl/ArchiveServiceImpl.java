@@ -0,0 +1,286 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.DBBean.RollupDelta;
+import com.financedashboard.DBBean.TrackerArchiveRepository;
+import com.financedashboard.DBBean.TrackerArchiveRepository.ArchiveFile;
+import com.financedashboard.DBBean.TrackerPartitionRepository;
+import com.financedashboard.dto.ArchivedRow;
+import com.financedashboard.entities.Money;
+import com.financedashboard.service.ArchiveService;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Moves tracker months older than financedashboard.archive.horizon-months out of the database into
+// gzipped CSV files under financedashboard.archive.dir, one transaction per month:
+// - on Postgres the month's partition is locked against writes, written out, then detached and
+//   dropped, which frees its space at once with no vacuum debt;
+// - without a partition (H2, or rows in the default partition) exactly the rows written out are
+//   deleted.
+// The file is in place before the transaction commits; a failed month leaves an unrecorded file
+// that the next run supersedes. The month's totals leave monthly_rollup in the same transaction,
+// so every summary, and a rollup rebuild, covers exactly the live rows; readArchived serves the
+// archived rows on demand.
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private static final String HEADER = "id,user_id,category,amount_minor_units,currency,date,description,version";
+    // Files written before amounts moved to each currency's own minor unit hold hundredths.
+    private static final String HUNDREDTHS_HEADER = "id,user_id,category,amount_minor,currency,date,description,version";
+
+    private final TrackerArchiveRepository archiveRepository;
+    private final TrackerPartitionRepository partitionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int horizonMonths;
+    private final Path directory;
+
+    public ArchiveServiceImpl(TrackerArchiveRepository archiveRepository, TrackerPartitionRepository partitionRepository,
+                              MonthlyRollupRepository monthlyRollupRepository, PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                              @Value("${financedashboard.archive.horizon-months:0}") int horizonMonths,
+                              @Value("${financedashboard.archive.dir:archive}") String directory) {
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.horizonMonths = horizonMonths;
+        this.directory = Path.of(directory);
+    }
+
+    @Scheduled(cron = "${financedashboard.archive.cron:0 30 3 * * *}")
+    public void run() throws IOException {
+        archiveDue();
+    }
+
+    // A horizon of 0 keeps everything online.
+    @Override
+    public int archiveDue() throws IOException {
+        if (horizonMonths <= 0) {
+            return 0;
+        }
+        return archiveBefore(LocalDate.now().withDayOfMonth(1).minusMonths(horizonMonths));
+    }
+
+    // Archives every whole month before cutoff's month; returns the number of months written.
+    @Override
+    public int archiveBefore(LocalDate cutoff) throws IOException {
+        LocalDate firstLiveMonth = cutoff.withDayOfMonth(1);
+        int months = 0;
+        for (UserDataKind kind : List.of(UserDataKind.EXPENSE, UserDataKind.INCOME)) {
+            String table = tableOf(kind);
+            LocalDate oldest;
+            while ((oldest = archiveRepository.findOldestDate(table, firstLiveMonth)) != null) {
+                archiveMonth(kind, table, oldest.withDayOfMonth(1));
+                months++;
+            }
+        }
+        return months;
+    }
+
+    // Streams the matching rows month by month; within a month each file is in date and id order.
+    @Override
+    public void readArchived(Long userId, UserDataKind kind, LocalDate from, LocalDate to, RowHandler handler) throws IOException {
+        LocalDate start = QueryBounds.from(from);
+        LocalDate end = QueryBounds.to(to);
+        String user = userId.toString();
+        for (ArchiveFile file : archiveRepository.findFiles(tableOf(kind), start.withDayOfMonth(1), end)) {
+            try (BufferedReader reader = openArchive(Path.of(file.filePath()))) {
+                boolean hundredths = HUNDREDTHS_HEADER.equals(reader.readLine());
+                String record;
+                while ((record = ImportServiceImpl.readRecord(reader)) != null) {
+                    List<String> fields = ImportServiceImpl.splitCsv(record);
+                    if (!user.equals(fields.get(1))) {
+                        continue;
+                    }
+                    ArchivedRow row = parse(kind, fields, hundredths);
+                    if (!row.date().isBefore(start) && !row.date().isAfter(end)) {
+                        handler.accept(row);
+                    }
+                }
+            }
+        }
+    }
+
+    // Rewrites every archive file holding the user's rows without them. Synchronized so two purges
+    // never rewrite the same file from the same original.
+    @Override
+    public synchronized int purgeArchived(Long userId, UserDataKind kind) throws IOException {
+        String user = userId.toString();
+        int removed = 0;
+        for (ArchiveFile file : archiveRepository.findFiles(tableOf(kind), QueryBounds.MIN_DATE, QueryBounds.MAX_DATE)) {
+            Path source = Path.of(file.filePath());
+            Path partial = source.resolveSibling(source.getFileName() + ".partial");
+            long kept = 0;
+            int dropped = 0;
+            try (BufferedReader reader = openArchive(source); Writer out = openPartial(partial)) {
+                String header = reader.readLine();
+                out.write(header != null ? header : HEADER);
+                out.write('\n');
+                String record;
+                while ((record = ImportServiceImpl.readRecord(reader)) != null) {
+                    if (user.equals(ImportServiceImpl.splitCsv(record).get(1))) {
+                        dropped++;
+                    } else {
+                        out.write(record);
+                        out.write('\n');
+                        kept++;
+                    }
+                }
+            }
+            if (dropped == 0) {
+                Files.delete(partial);
+                continue;
+            }
+            Files.move(partial, source, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            archiveRepository.updateRowCount(file.filePath(), kept);
+            removed += dropped;
+        }
+        return removed;
+    }
+
+    private void archiveMonth(UserDataKind kind, String table, LocalDate monthStart) throws IOException {
+        Path target = directory.resolve(table).resolve(monthStart.toString().substring(0, 7) + "-" + System.currentTimeMillis() + ".csv.gz");
+        Files.createDirectories(target.getParent());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean partition = partitionRepository.isPartitioned() && partitionRepository.hasMonthPartition(table, monthStart);
+                if (partition) {
+                    partitionRepository.lockMonthPartition(table, monthStart);
+                }
+                List<Long> ids = new ArrayList<>();
+                Set<Long> users = new HashSet<>();
+                RollupDelta delta = new RollupDelta();
+                writeMonth(kind, table, monthStart, target, ids, users, delta);
+                archiveRepository.record(new ArchiveFile(target.toString(), table, monthStart, ids.size()));
+                monthlyRollupRepository.apply(delta);
+                if (partition) {
+                    partitionRepository.dropMonthPartition(table, monthStart);
+                } else {
+                    archiveRepository.deleteArchived(table, monthStart, ids);
+                }
+                users.forEach(userId -> eventPublisher.publishEvent(new UserDataChangedEvent(userId, kind)));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Written to a temporary file and moved into place, so a half-written archive is never visible.
+    // The rows' totals are taken out of the rollup through delta.
+    private void writeMonth(UserDataKind kind, String table, LocalDate monthStart, Path target, List<Long> ids, Set<Long> users,
+                            RollupDelta delta) {
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        try {
+            try (Writer out = openPartial(partial)) {
+                out.write(HEADER);
+                out.write('\n');
+                archiveRepository.streamMonth(table, monthStart, rs -> {
+                    ids.add(rs.getLong(1));
+                    Long userId = rs.getObject(2, Long.class);
+                    if (userId != null) {
+                        users.add(userId);
+                        delta.add(userId, kind.name(), rs.getObject(6, LocalDate.class), rs.getString(3), rs.getString(5),
+                                rs.getObject(4, Long.class), -1);
+                    }
+                    writeRow(out, rs);
+                });
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedReader openArchive(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8));
+    }
+
+    private static Writer openPartial(Path partial) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024), StandardCharsets.UTF_8));
+    }
+
+    private static void writeRow(Writer out, ResultSet rs) throws SQLException {
+        try {
+            out.write(rs.getString(1));
+            out.write(',');
+            out.write(field(rs.getString(2)));
+            out.write(',');
+            out.write(ExportServiceImpl.escape(rs.getString(3)));
+            out.write(',');
+            out.write(field(rs.getString(4)));
+            out.write(',');
+            out.write(ExportServiceImpl.escape(rs.getString(5)));
+            out.write(',');
+            LocalDate date = rs.getObject(6, LocalDate.class);
+            out.write(date != null ? date.toString() : "");
+            out.write(',');
+            out.write(ExportServiceImpl.escape(rs.getString(7)));
+            out.write(',');
+            out.write(field(rs.getString(8)));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ArchivedRow parse(UserDataKind kind, List<String> fields, boolean hundredths) {
+        Long amountMinor = longOrNull(fields.get(3));
+        String currency = emptyToNull(fields.get(4));
+        if (hundredths && amountMinor != null) {
+            amountMinor = Money.toMinor(amountMinor / 100d, currency);
+        }
+        return new ArchivedRow(kind, Long.valueOf(fields.get(0)), longOrNull(fields.get(1)), emptyToNull(fields.get(2)),
+                amountMinor, currency, LocalDate.parse(fields.get(5)),
+                emptyToNull(fields.get(6)), longOrNull(fields.get(7)));
+    }
+
+    private static String field(String value) {
+        return value != null ? value : "";
+    }
+
+    private static Long longOrNull(String value) {
+        return value.isEmpty() ? null : Long.valueOf(value);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String tableOf(UserDataKind kind) {
+        return switch (kind) {
+            case EXPENSE -> "expense_tracker";
+            case INCOME -> "income_tracker";
+            case GOAL -> throw new IllegalArgumentException("goals are not archived");
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.financedashboard.service.impl;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Persists large lists in fixed-size transactions. Each chunk is flushed as JDBC batches
+// (hibernate.jdbc.batch_size) and then cleared, so the persistence context never holds more
+// than one chunk of managed entities.
+@Component
+public class BatchWriter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public BatchWriter(PlatformTransactionManager transactionManager, EntityManager entityManager,
+                       @Value("${financedashboard.import.chunk-size:5000}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public <T> List<T> saveInChunks(List<T> rows, JpaRepository<T, Long> repository) {
+        return saveInChunks(rows, repository::saveAll);
+    }
+
+    // chunkWriter runs inside each chunk's transaction, so anything it writes alongside the
+    // rows (e.g. rollup deltas) commits or rolls back with them.
+    public <T> List<T> saveInChunks(List<T> rows, Function<List<T>, List<T>> chunkWriter) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int start = 0; start < rows.size(); start += chunkSize) {
+            List<T> chunk = rows.subList(start, Math.min(start + chunkSize, rows.size()));
+            saved.addAll(saveChunk(chunk, chunkWriter));
+        }
+        return saved;
+    }
+
+    public <T> List<T> saveChunk(List<T> chunk, Function<List<T>, List<T>> chunkWriter) {
+        return transactionTemplate.execute(status -> {
+            List<T> result = chunkWriter.apply(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            return result;
+        });
+    }
+}
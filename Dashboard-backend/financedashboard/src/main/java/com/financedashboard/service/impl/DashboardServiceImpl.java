@@ -0,0 +1,88 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.dto.DashboardResponse;
+import com.financedashboard.dto.DashboardSection;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.GoalView;
+import com.financedashboard.dto.IncomeView;
+import com.financedashboard.entities.User;
+import com.financedashboard.financedashboard.ReplicaRouting;
+import com.financedashboard.financedashboard.StatementCounter;
+import com.financedashboard.service.DashboardService;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.GoalService;
+import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.UserService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Loads the requested sections in parallel through the regular services, so the per-user list
+// caches still apply. The pool is bounded: at most financedashboard.dashboard.threads section
+// loads (and connections) at once, and when the queue is full the request thread loads the
+// section itself instead of failing.
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final UserService userService;
+    private final IncomeService incomeService;
+    private final ExpenseService expenseService;
+    private final GoalService goalService;
+    private final ExecutorService executor;
+
+    public DashboardServiceImpl(UserService userService, IncomeService incomeService, ExpenseService expenseService,
+                                GoalService goalService, @Value("${financedashboard.dashboard.threads:8}") int threads,
+                                @Value("${financedashboard.dashboard.queue-capacity:64}") int queueCapacity) {
+        this.userService = userService;
+        this.incomeService = incomeService;
+        this.expenseService = expenseService;
+        this.goalService = goalService;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "dashboard-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public DashboardResponse getDashboard(Long userId, Set<DashboardSection> sections) {
+        CompletableFuture<User> user = load(sections, DashboardSection.USER, () -> userService.getUserById(userId));
+        CompletableFuture<List<IncomeView>> income = load(sections, DashboardSection.INCOME, () -> incomeService.getIncomeByUserId(userId));
+        CompletableFuture<List<ExpenseView>> expense = load(sections, DashboardSection.EXPENSE, () -> expenseService.getExpenseByUserId(userId));
+        CompletableFuture<List<GoalView>> goals = load(sections, DashboardSection.GOALS, () -> goalService.getGoalByUserId(userId));
+        try {
+            return new DashboardResponse(userId, user.join(), income.join(), expense.join(), goals.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> load(Set<DashboardSection> sections, DashboardSection section, Supplier<T> loader) {
+        if (!sections.contains(section)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(StatementCounter.propagate(ReplicaRouting.propagate(loader)), executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.UserDataVersionRepository;
+import com.financedashboard.service.DataVersionService;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Keeps a change counter per (user, kind) and turns it into the ETag of that user's list.
+//
+// The counter is bumped twice per write. The bump inside the writing transaction means a committed
+// write can never keep the old stamp. The second bump runs after the cache eviction (see
+// UserDataCacheEvictor), so a list cached from pre-commit data between the commit and the eviction
+// is never served under the final stamp.
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final UserDataVersionRepository versionRepository;
+    private final TransactionTemplate newTransaction;
+
+    public DataVersionServiceImpl(UserDataVersionRepository versionRepository, PlatformTransactionManager transactionManager) {
+        this.versionRepository = versionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public String etag(Long userId, UserDataKind kind, String representation) {
+        return "\"" + kind.name().toLowerCase() + "-" + userId + "-" + versionRepository.find(userId, kind.name())
+                + "-" + representation + "\"";
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onWrite(UserDataChangedEvent event) {
+        if (event.userId() != null) {
+            versionRepository.bump(event.userId(), event.kind().name());
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterCommit(UserDataChangedEvent event) {
+        if (event.userId() != null) {
+            newTransaction.executeWithoutResult(status -> versionRepository.bump(event.userId(), event.kind().name()));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.financedashboard.service.impl;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+// Rules shared by the PUT and PATCH paths that edit a loaded row.
+final class Edits {
+
+    private Edits() {}
+
+    // A version sent by the client must match the stored one. Changes committed after the row was
+    // loaded are caught by Hibernate's own version check when the UPDATE is flushed.
+    static void checkVersion(Class<?> type, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+    }
+
+    // PATCH keeps fields the client left out (null); PUT replaces them.
+    static <T> T value(boolean partial, T change, T current) {
+        return partial && change == null ? current : change;
+    }
+}
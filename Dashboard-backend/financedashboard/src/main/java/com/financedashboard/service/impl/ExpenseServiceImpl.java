@@ -1,55 +1,185 @@
 package com.financedashboard.service.impl;
 
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.KeysetCursor;
 import com.financedashboard.entities.Expense;
 import com.financedashboard.DBBean.ExpenseRepository;
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.DBBean.RollupDelta;
+import com.financedashboard.DBBean.UserDayCategoryTotal;
+import com.financedashboard.financedashboard.CacheConfig;
 import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class ExpenseServiceImpl implements ExpenseService {
 
+    private static final String ROLLUP_KIND = UserDataKind.EXPENSE.name();
+    private static final int DELETE_CHUNK = 1000;
+
     private final ExpenseRepository expenseRepository;
+    private final BatchWriter batchWriter;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ExpenseServiceImpl(ExpenseRepository expenseRepository) {
+    public ExpenseServiceImpl(ExpenseRepository expenseRepository, BatchWriter batchWriter,
+                              MonthlyRollupRepository monthlyRollupRepository, ApplicationEventPublisher eventPublisher) {
         this.expenseRepository = expenseRepository;
+        this.batchWriter = batchWriter;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public List<Expense> getAllExpenses() {
-        return expenseRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ExpenseView> getAllExpenses() {
+        return expenseRepository.findAllViews();
     }
 
     @Override
-    public List<Expense> getExpenseByUserId(Long userId) {
-        return expenseRepository.getExpenseByUserId(userId);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EXPENSES_BY_USER, key = "#userId")
+    public List<ExpenseView> getExpenseByUserId(Long userId) {
+        return expenseRepository.findViewsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseView> getExpensePage(Long userId, LocalDate from, LocalDate to, String category, String cursor, int size) {
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : new KeysetCursor(QueryBounds.from(from), 0L);
+        Slice<ExpenseView> slice = expenseRepository.findPageAfter(userId, QueryBounds.to(to), after.date(), after.id(),
+                category, PageRequest.of(0, QueryBounds.pageSize(size)));
+        List<ExpenseView> items = slice.getContent();
+        String next = null;
+        if (slice.hasNext()) {
+            ExpenseView last = items.get(items.size() - 1);
+            next = new KeysetCursor(last.date(), last.id()).encode();
+        }
+        return new CursorPage<>(items, next, slice.hasNext());
     }
 
     @Override
     public List<Expense> saveExpense(List<Expense> expense) {
-        return expenseRepository.saveAll(expense);
+        List<Expense> saved = batchWriter.saveInChunks(expense, this::saveChunk);
+        saved.stream().map(Expense::getUserId).distinct().forEach(this::publishChange);
+        return saved;
+    }
+
+    // Rows that already have an id are updates through saveAll, so their old values are
+    // taken out of the rollup before the new ones are added.
+    private List<Expense> saveChunk(List<Expense> chunk) {
+        RollupDelta delta = new RollupDelta();
+        List<Long> ids = chunk.stream().map(Expense::getId).filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            Map<Long, Long> versions = new HashMap<>();
+            for (Expense before : expenseRepository.findAllById(ids)) {
+                addToRollup(delta, before, -1);
+                versions.put(before.getId(), before.getVersion());
+            }
+            // Rows sent without a version update whatever is stored, as they did before versioning.
+            for (Expense row : chunk) {
+                if (row.getId() != null && row.getVersion() == null) {
+                    row.setVersion(versions.get(row.getId()));
+                }
+            }
+        }
+        List<Expense> saved = expenseRepository.saveAll(chunk);
+        for (Expense row : saved) {
+            addToRollup(delta, row, 1);
+        }
+        monthlyRollupRepository.apply(delta);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Expense updateExpense(Long id, Expense expense) {
+        return edit(id, expense, false);
+    }
+
+    @Override
+    @Transactional
+    public Expense patchExpense(Long id, Expense changes) {
+        return edit(id, changes, true);
+    }
+
+    // The old row is needed for the rollup delta, so it is loaded once; @DynamicUpdate and @Version
+    // then flush an UPDATE of only the changed columns, guarded by the row version.
+    private Expense edit(Long id, Expense changes, boolean partial) {
         Expense existing = expenseRepository.findById(id).orElse(null);
-        if (existing != null) {
-            existing.setCategory(expense.getCategory());
-            existing.setAmount(expense.getAmount());
-            existing.setDate(expense.getDate());
-            existing.setDescription(expense.getDescription());
-            return expenseRepository.save(existing);
+        if (existing == null) {
+            return null;
         }
-        return null;
+        Edits.checkVersion(Expense.class, id, changes.getVersion(), existing.getVersion());
+        RollupDelta delta = new RollupDelta();
+        addToRollup(delta, existing, -1);
+        existing.setCategory(Edits.value(partial, changes.getCategory(), existing.getCategory()));
+        // Currency first: the minor units of the new amount depend on it.
+        existing.setCurrency(Edits.value(partial, changes.getCurrency(), existing.getCurrency()));
+        existing.setAmountMinor(Edits.value(partial, changes.amountMinorIn(existing.getCurrency()), existing.getAmountMinor()));
+        existing.setDate(Edits.value(partial, changes.getDate(), existing.getDate()));
+        existing.setDescription(Edits.value(partial, changes.getDescription(), existing.getDescription()));
+        addToRollup(delta, existing, 1);
+        monthlyRollupRepository.apply(delta);
+        publishChange(existing.getUserId());
+        return expenseRepository.saveAndFlush(existing);
     }
 
     @Override
+    @Transactional
     public void deleteExpense(Long id) {
-        expenseRepository.deleteById(id);
+        expenseRepository.findById(id).ifPresent(existing -> {
+            expenseRepository.delete(existing);
+            RollupDelta delta = new RollupDelta();
+            addToRollup(delta, existing, -1);
+            monthlyRollupRepository.apply(delta);
+            publishChange(existing.getUserId());
+        });
     }
+
+    // Per chunk of ids: one grouped read for the rollup and one DELETE, instead of a load and a delete per row.
     @Override
-    public void deleteAllExpenses(List<Long> ids) {
-        expenseRepository.deleteAllById(ids);
+    @Transactional
+    public int deleteAllExpenses(Long userId, List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        RollupDelta delta = new RollupDelta();
+        Set<Long> users = new HashSet<>();
+        int deleted = 0;
+        for (int from = 0; from < distinct.size(); from += DELETE_CHUNK) {
+            List<Long> chunk = distinct.subList(from, Math.min(distinct.size(), from + DELETE_CHUNK));
+            for (UserDayCategoryTotal group : expenseRepository.sumByIds(chunk, userId)) {
+                delta.addTotal(group.getUserId(), ROLLUP_KIND, group.getBookedOn(), group.getCategory(), group.getCurrency(),
+                        group.getTotal() != null ? -group.getTotal() : 0L, -group.getEntries());
+                users.add(group.getUserId());
+            }
+            deleted += expenseRepository.deleteByIds(chunk, userId);
+        }
+        monthlyRollupRepository.apply(delta);
+        users.forEach(this::publishChange);
+        return deleted;
+    }
+
+    private static void addToRollup(RollupDelta delta, Expense row, int count) {
+        delta.add(row.getUserId(), ROLLUP_KIND, row.getDate(), row.getCategory(), row.getCurrency(), row.getAmountMinor(), count);
+    }
+
+    private void publishChange(Long userId) {
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataKind.EXPENSE));
     }
 }
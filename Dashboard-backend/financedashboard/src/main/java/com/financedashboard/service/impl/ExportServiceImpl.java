@@ -0,0 +1,166 @@
+package com.financedashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financedashboard.DBBean.ExpenseRepository;
+import com.financedashboard.DBBean.GoalRepository;
+import com.financedashboard.DBBean.IncomeRepository;
+import com.financedashboard.dto.ExportFormat;
+import com.financedashboard.dto.ExportRow;
+import com.financedashboard.service.ExportService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes rows straight from database cursors to the response. Each entity is detached once
+// written, so the persistence context stays empty however much history a user has.
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final GoalRepository goalRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final String defaultCurrency;
+
+    public ExportServiceImpl(IncomeRepository incomeRepository, ExpenseRepository expenseRepository,
+                             GoalRepository goalRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                             @Value("${financedashboard.currency.default:INR}") String defaultCurrency) {
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.goalRepository = goalRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.defaultCurrency = defaultCurrency;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUserData(Long userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        LocalDate start = QueryBounds.from(from);
+        LocalDate end = QueryBounds.to(to);
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(objectMapper, out);
+        // A full export is the user's whole data set, rows saved without a date included.
+        boolean undated = from == null && to == null;
+
+        write(incomeRepository.streamByUserId(userId, start, end, undated), writer,
+                i -> new ExportRow("income", i.getId(), i.getCategory(), i.getAmount(), currencyOf(i.getCurrency()), i.getDate(), null, null, i.getDescription()));
+        write(expenseRepository.streamByUserId(userId, start, end, undated), writer,
+                e -> new ExportRow("expense", e.getId(), e.getCategory(), e.getAmount(), currencyOf(e.getCurrency()), e.getDate(), null, null, e.getDescription()));
+        write(goalRepository.streamByUserId(userId, start, end), writer,
+                g -> new ExportRow("goal", g.getId(), g.getCategory(), g.getAmount(), currencyOf(g.getCurrency()), g.getStartDate(),
+                        g.getEndDate(), g.getType(), g.getDescription()));
+        writer.finish();
+    }
+
+    // Rows stored without a currency are in the default one; exports always name it.
+    private String currencyOf(String currency) {
+        return currency != null ? currency : defaultCurrency;
+    }
+
+    private <T> void write(Stream<T> rows, RowWriter writer, Function<T, ExportRow> mapper) throws IOException {
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                writer.write(mapper.apply(row));
+                entityManager.detach(row);
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(ExportRow row) throws IOException;
+        void finish() throws IOException;
+    }
+
+    // Quotes a CSV field only when it needs it; shared with the archive files.
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer out;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.out.write(ExportRow.CSV_HEADER);
+            this.out.write('\n');
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            out.write(row.kind());
+            out.write(',');
+            out.write(String.valueOf(row.id()));
+            out.write(',');
+            out.write(escape(row.category()));
+            out.write(',');
+            out.write(row.amount() != null ? row.amount().toString() : "");
+            out.write(',');
+            out.write(escape(row.currency()));
+            out.write(',');
+            out.write(row.date() != null ? row.date().toString() : "");
+            out.write(',');
+            out.write(row.endDate() != null ? row.endDate().toString() : "");
+            out.write(',');
+            out.write(escape(row.type()));
+            out.write(',');
+            out.write(escape(row.description()));
+            out.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+
+        // One generator for the whole response: no flush per row, and newlines instead of
+        // Jackson's default space between root-level values.
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.writer = objectMapper.writerFor(ExportRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            writer.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.FxRateRepository;
+import com.financedashboard.dto.FxRate;
+import com.financedashboard.entities.Money;
+import com.financedashboard.service.FxRateService;
+import com.financedashboard.service.fx.FxRateTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Rates live in fx_rate and are served from an in-memory FxRateTable. The table is rebuilt after
+// every load on this node and at most financedashboard.fx.refresh after a load on another one.
+@Service
+public class FxRateServiceImpl implements FxRateService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final FxRateRepository fxRateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String baseCurrency;
+    private final String defaultCurrency;
+    private final String ratesFile;
+    private final long refreshNanos;
+    private volatile Snapshot snapshot;
+
+    public FxRateServiceImpl(FxRateRepository fxRateRepository, PlatformTransactionManager transactionManager,
+                             @Value("${financedashboard.fx.base-currency:INR}") String baseCurrency,
+                             @Value("${financedashboard.currency.default:INR}") String defaultCurrency,
+                             @Value("${financedashboard.fx.rates-file:}") String ratesFile,
+                             @Value("${financedashboard.fx.refresh:1h}") Duration refresh) {
+        this.fxRateRepository = fxRateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.baseCurrency = Money.currencyCode(baseCurrency);
+        this.defaultCurrency = Money.currencyCode(defaultCurrency);
+        // Entities convert amounts without a currency in the default currency's minor units.
+        Money.setDefaultCurrency(this.defaultCurrency);
+        this.ratesFile = ratesFile;
+        this.refreshNanos = refresh.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadConfiguredFile() throws IOException {
+        if (ratesFile.isBlank()) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(Path.of(ratesFile))) {
+            loadRates(in);
+        }
+    }
+
+    // CSV with a date,currency,rate header; the whole file is stored in one transaction or not at all.
+    @Override
+    public int loadRates(InputStream csv) throws IOException {
+        List<FxRate> rates = parse(csv);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rates.size(); from += BATCH_SIZE) {
+                fxRateRepository.upsert(rates.subList(from, Math.min(rates.size(), from + BATCH_SIZE)));
+            }
+        });
+        snapshot = load();
+        return rates.size();
+    }
+
+    @Override
+    public FxRateTable rates() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAt() > refreshNanos) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || System.nanoTime() - current.loadedAt() > refreshNanos) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current.table();
+    }
+
+    @Override
+    public String defaultCurrency() {
+        return defaultCurrency;
+    }
+
+    private Snapshot load() {
+        return new Snapshot(FxRateTable.of(baseCurrency, fxRateRepository.findAll()), System.nanoTime());
+    }
+
+    private static List<FxRate> parse(InputStream csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = ImportServiceImpl.splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Integer date = columns.get("date");
+        Integer currency = columns.get("currency");
+        Integer rate = columns.get("rate");
+        if (date == null || currency == null || rate == null) {
+            throw new IllegalArgumentException("FX rate files need date, currency and rate columns");
+        }
+        List<FxRate> rates = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                List<String> values = ImportServiceImpl.splitCsv(line);
+                double value = Double.parseDouble(values.get(rate).trim());
+                if (!(value > 0) || Double.isInfinite(value)) {
+                    throw new IllegalArgumentException("rate must be a positive number");
+                }
+                rates.add(new FxRate(Money.currencyCode(values.get(currency)), LocalDate.parse(values.get(date).trim()), value));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return rates;
+    }
+
+    private record Snapshot(FxRateTable table, long loadedAt) {
+    }
+}
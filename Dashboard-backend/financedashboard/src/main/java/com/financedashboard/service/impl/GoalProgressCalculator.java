@@ -0,0 +1,84 @@
+package com.financedashboard.service.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+// Computes progress for many goals in one sweep over date-sorted transactions.
+//
+// Goal windows become start and end events. Walking the days in order, the running total a goal
+// measures is snapshotted when its window opens and read again when it closes, so each goal costs
+// two lookups however many transactions fall inside it. On each day starts are handled before
+// that day's transactions and ends after them, which keeps both window bounds inclusive.
+//
+// Days are epoch days and amounts minor units, so running totals are exact. Budget goals carry a
+// category index and measure cumulative expenses in that category; goals with SAVINGS measure total
+// income minus total expense.
+public final class GoalProgressCalculator {
+
+    public static final int SAVINGS = -1;
+
+    private GoalProgressCalculator() {}
+
+    public static long[] progress(long[] goalStart, long[] goalEnd, int[] goalCategory,
+                                    long[] expenseDays, int[] expenseCategories, long[] expenseAmounts, int expenseCount,
+                                    long[] incomeDays, long[] incomeAmounts, int incomeCount,
+                                    int categoryCount) {
+        int goals = goalStart.length;
+        int[] byStart = sortedBy(goalStart);
+        int[] byEnd = sortedBy(goalEnd);
+
+        long[] categorySpent = new long[categoryCount];
+        long income = 0;
+        long expense = 0;
+        long[] opened = new long[goals];
+        long[] result = new long[goals];
+
+        int s = 0;
+        int e = 0;
+        int x = 0;
+        int i = 0;
+        while (e < goals) {
+            long day = goalEnd[byEnd[e]];
+            if (s < goals) {
+                day = Math.min(day, goalStart[byStart[s]]);
+            }
+            if (x < expenseCount) {
+                day = Math.min(day, expenseDays[x]);
+            }
+            if (i < incomeCount) {
+                day = Math.min(day, incomeDays[i]);
+            }
+
+            for (; s < goals && goalStart[byStart[s]] == day; s++) {
+                int g = byStart[s];
+                opened[g] = measure(goalCategory[g], categorySpent, income, expense);
+            }
+            for (; x < expenseCount && expenseDays[x] == day; x++) {
+                categorySpent[expenseCategories[x]] += expenseAmounts[x];
+                expense += expenseAmounts[x];
+            }
+            for (; i < incomeCount && incomeDays[i] == day; i++) {
+                income += incomeAmounts[i];
+            }
+            for (; e < goals && goalEnd[byEnd[e]] == day; e++) {
+                int g = byEnd[e];
+                result[g] = goalEnd[g] < goalStart[g] ? 0 : measure(goalCategory[g], categorySpent, income, expense) - opened[g];
+            }
+        }
+        return result;
+    }
+
+    private static long measure(int category, long[] categorySpent, long income, long expense) {
+        if (category == SAVINGS) {
+            return income - expense;
+        }
+        return category < categorySpent.length ? categorySpent[category] : 0;
+    }
+
+    private static int[] sortedBy(long[] days) {
+        Integer[] order = IntStream.range(0, days.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingLong(g -> days[g]));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+}
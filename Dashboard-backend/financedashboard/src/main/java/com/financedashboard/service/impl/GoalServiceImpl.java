@@ -1,54 +1,252 @@
 package com.financedashboard.service.impl;
 
 import com.financedashboard.entities.Goal;
+import com.financedashboard.entities.Money;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.financedashboard.DBBean.DayCategoryCurrencyTotal;
+import com.financedashboard.DBBean.ExpenseRepository;
 import com.financedashboard.DBBean.GoalRepository;
+import com.financedashboard.DBBean.IncomeRepository;
+import com.financedashboard.dto.GoalProgress;
+import com.financedashboard.dto.GoalView;
+import com.financedashboard.financedashboard.CacheConfig;
+import com.financedashboard.service.FxRateService;
 import com.financedashboard.service.GoalService;
+import com.financedashboard.service.fx.FxRateTable;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class GoalServiceImpl implements GoalService{
 
     public final GoalRepository goalRepository;
-    public GoalServiceImpl(GoalRepository goalRepository) {
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FxRateService fxRateService;
+
+    public GoalServiceImpl(GoalRepository goalRepository, IncomeRepository incomeRepository,
+                           ExpenseRepository expenseRepository, ApplicationEventPublisher eventPublisher,
+                           FxRateService fxRateService) {
         this.goalRepository = goalRepository;
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.eventPublisher = eventPublisher;
+        this.fxRateService = fxRateService;
     }
 
      @Override
-    public List<Goal> getAllGoal() {
-        return goalRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<GoalView> getAllGoal() {
+        return goalRepository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GOALS_BY_USER, key = "#userId")
+    public List<GoalView> getGoalByUserId(Long userId) {
+        return goalRepository.findViewsByUserId(userId);
     }
 
+    // Loads day-level totals once for the span covered by all goals and evaluates the goals of each
+    // currency in a single sweep (see GoalProgressCalculator). A goal is measured in its own currency,
+    // financedashboard.currency.default when it has none; totals booked in another currency are
+    // converted at their day's rate first.
     @Override
-    public List<Goal> getGoalByUserId(Long userId) {
-        return goalRepository.getGoalByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<GoalProgress> getGoalProgress(Long userId) {
+        List<Goal> goals = goalRepository.getGoalByUserId(userId);
+        if (goals.isEmpty()) {
+            return List.of();
+        }
+        int count = goals.size();
+        long[] start = new long[count];
+        long[] end = new long[count];
+        int[] category = new int[count];
+        Map<String, Integer> categories = new HashMap<>();
+        boolean savings = false;
+        long from = QueryBounds.MAX_DATE.toEpochDay();
+        long to = QueryBounds.MIN_DATE.toEpochDay();
+        for (int g = 0; g < count; g++) {
+            Goal goal = goals.get(g);
+            start[g] = QueryBounds.from(goal.getStartDate()).toEpochDay();
+            end[g] = QueryBounds.to(goal.getEndDate()).toEpochDay();
+            from = Math.min(from, start[g]);
+            to = Math.max(to, end[g]);
+            if ("savings".equalsIgnoreCase(goal.getType())) {
+                category[g] = GoalProgressCalculator.SAVINGS;
+                savings = true;
+            } else {
+                category[g] = categories.computeIfAbsent(categoryKey(goal.getCategory()), k -> categories.size());
+            }
+        }
+
+        // Expenses in categories no budget tracks share one extra slot; they still count toward savings.
+        int otherCategory = categories.size();
+        List<DayCategoryCurrencyTotal> expenses = expenseRepository.sumByDayCategoryAndCurrency(userId,
+                LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to));
+        long[] expenseDays = new long[expenses.size()];
+        int[] expenseCategories = new int[expenses.size()];
+        for (int x = 0; x < expenses.size(); x++) {
+            DayCategoryCurrencyTotal row = expenses.get(x);
+            expenseDays[x] = row.getBookedOn().toEpochDay();
+            expenseCategories[x] = categories.getOrDefault(categoryKey(row.getCategory()), otherCategory);
+        }
+        List<DayCategoryCurrencyTotal> incomes = savings
+                ? incomeRepository.sumByDayCategoryAndCurrency(userId, LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to))
+                : List.of();
+        long[] incomeDays = new long[incomes.size()];
+        for (int i = 0; i < incomes.size(); i++) {
+            incomeDays[i] = incomes.get(i).getBookedOn().toEpochDay();
+        }
+
+        String defaultCurrency = fxRateService.defaultCurrency();
+        Map<String, List<Integer>> goalsByCurrency = new LinkedHashMap<>();
+        for (int g = 0; g < count; g++) {
+            String currency = goals.get(g).getCurrency();
+            goalsByCurrency.computeIfAbsent(currency != null ? currency : defaultCurrency, c -> new ArrayList<>()).add(g);
+        }
+        long[] progress = new long[count];
+        goalsByCurrency.forEach((currency, members) -> {
+            int size = members.size();
+            long[] memberStart = new long[size];
+            long[] memberEnd = new long[size];
+            int[] memberCategory = new int[size];
+            for (int m = 0; m < size; m++) {
+                memberStart[m] = start[members.get(m)];
+                memberEnd[m] = end[members.get(m)];
+                memberCategory[m] = category[members.get(m)];
+            }
+            long[] memberProgress = GoalProgressCalculator.progress(memberStart, memberEnd, memberCategory,
+                    expenseDays, expenseCategories, amountsIn(currency, expenses, defaultCurrency), expenseDays.length,
+                    incomeDays, amountsIn(currency, incomes, defaultCurrency), incomeDays.length, otherCategory + 1);
+            for (int m = 0; m < size; m++) {
+                progress[members.get(m)] = memberProgress[m];
+            }
+        });
+
+        List<GoalProgress> result = new ArrayList<>(count);
+        for (int g = 0; g < count; g++) {
+            Goal goal = goals.get(g);
+            String currency = goal.getCurrency() != null ? goal.getCurrency() : defaultCurrency;
+            long target = goal.getAmountMinor() != null ? goal.getAmountMinor() : 0L;
+            result.add(new GoalProgress(goal.getId(), goal.getCategory(), goal.getType(), goal.getStartDate(), goal.getEndDate(),
+                    currency, Money.toMajor(target, currency), Money.toMajor(progress[g], currency),
+                    Money.toMajor(target - progress[g], currency),
+                    target > 0 ? progress[g] * 100.0 / target : 0d));
+        }
+        return result;
+    }
+
+    // Each row's total in currency; rows booked in another currency are converted at their day's rate.
+    private long[] amountsIn(String currency, List<DayCategoryCurrencyTotal> rows, String defaultCurrency) {
+        long[] amounts = new long[rows.size()];
+        FxRateTable rates = null;
+        for (int r = 0; r < rows.size(); r++) {
+            DayCategoryCurrencyTotal row = rows.get(r);
+            long total = row.getTotal() != null ? row.getTotal() : 0L;
+            String source = row.getCurrency() != null ? row.getCurrency() : defaultCurrency;
+            if (!source.equals(currency)) {
+                if (rates == null) {
+                    rates = fxRateService.rates();
+                }
+                int from = rates.indexOf(source);
+                int to = rates.indexOf(currency);
+                if (from < 0 || to < 0) {
+                    throw new IllegalArgumentException("No FX rates for " + (from < 0 ? source : currency));
+                }
+                total = rates.convert(total, from, to, row.getBookedOn().toEpochDay());
+            }
+            amounts[r] = total;
+        }
+        return amounts;
     }
 
     @Override
+    @Transactional
     public Goal saveGoal(Goal goal) {
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        publishChange(saved.getUserId());
+        return saved;
     }
 
     @Override
+    @Transactional
     public Goal updateGoal(Long id, Goal goal) {
+        if (goal.getVersion() != null && goal.getUserId() != null) {
+            return updateIfVersion(id, goal);
+        }
+        return edit(id, goal, false);
+    }
+
+    @Override
+    @Transactional
+    public Goal patchGoal(Long id, Goal changes) {
+        return edit(id, changes, true);
+    }
+
+    // The body already is the new row, so only a miss needs a second statement to tell a stale
+    // version from a goal that is missing or not this user's, which is not found like any other.
+    private Goal updateIfVersion(Long id, Goal goal) {
+        int updated = goalRepository.updateIfVersion(id, goal.getUserId(), goal.getVersion(), goal.getCategory(),
+                goal.getAmountMinor(), goal.getCurrency(), goal.getStartDate(), goal.getEndDate(), goal.getDescription(), goal.getType());
+        if (updated == 0) {
+            if (goalRepository.existsByIdAndUserId(id, goal.getUserId())) {
+                throw new ObjectOptimisticLockingFailureException(Goal.class, id);
+            }
+            return null;
+        }
+        goal.setId(id);
+        goal.setVersion(goal.getVersion() + 1);
+        publishChange(goal.getUserId());
+        return goal;
+    }
+
+    private Goal edit(Long id, Goal changes, boolean partial) {
         Goal existing = goalRepository.findById(id).orElse(null);
-        if (existing != null) {
-            existing.setCategory(goal.getCategory());
-            existing.setAmount(goal.getAmount());
-            existing.setStartDate(goal.getStartDate());
-            existing.setEndDate(goal.getEndDate());
-            return goalRepository.save(existing);
+        if (existing == null) {
+            return null;
         }
-        return null;
+        Edits.checkVersion(Goal.class, id, changes.getVersion(), existing.getVersion());
+        existing.setCategory(Edits.value(partial, changes.getCategory(), existing.getCategory()));
+        // Currency first: the minor units of the new amount depend on it.
+        existing.setCurrency(Edits.value(partial, changes.getCurrency(), existing.getCurrency()));
+        existing.setAmountMinor(Edits.value(partial, changes.amountMinorIn(existing.getCurrency()), existing.getAmountMinor()));
+        existing.setStartDate(Edits.value(partial, changes.getStartDate(), existing.getStartDate()));
+        existing.setEndDate(Edits.value(partial, changes.getEndDate(), existing.getEndDate()));
+        existing.setDescription(Edits.value(partial, changes.getDescription(), existing.getDescription()));
+        existing.setType(Edits.value(partial, changes.getType(), existing.getType()));
+        publishChange(existing.getUserId());
+        return goalRepository.saveAndFlush(existing);
     }
 
     @Override
+    @Transactional
     public void deleteGoal(Long id) {
-        goalRepository.deleteById(id);
+        goalRepository.findById(id).ifPresent(existing -> {
+            goalRepository.delete(existing);
+            publishChange(existing.getUserId());
+        });
     }
 
-    
+    private static String categoryKey(String category) {
+        return category != null ? category : "";
+    }
+
+    private void publishChange(Long userId) {
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataKind.GOAL));
+    }
 
 }
@@ -0,0 +1,260 @@
+package com.financedashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedashboard.dto.ImportBatch;
+import com.financedashboard.dto.ImportFormat;
+import com.financedashboard.dto.ImportResult;
+import com.financedashboard.dto.ImportRow;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.ImportService;
+import com.financedashboard.service.IncomeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Reads import bodies one record at a time and hands them to the regular save path in
+// bounded batches, so memory use depends on the batch size and not on the upload size.
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int MAX_ERRORS = 100;
+
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ImportServiceImpl(ExpenseService expenseService, IncomeService incomeService, ObjectMapper objectMapper,
+                             @Value("${financedashboard.import.chunk-size:5000}") int batchSize) {
+        this.expenseService = expenseService;
+        this.incomeService = incomeService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportResult importExpenses(InputStream body, ImportFormat format) throws IOException {
+        Batcher<Expense> batcher = new Batcher<>(batchSize,
+                row -> {
+                    Expense expense = new Expense(row.userId(), row.category(), row.amount(), row.date(), row.description());
+                    expense.setCurrency(row.currency());
+                    return expense;
+                },
+                expenseService::saveExpense);
+        return read(body, format, batcher);
+    }
+
+    @Override
+    public ImportResult importIncome(InputStream body, ImportFormat format) throws IOException {
+        Batcher<Income> batcher = new Batcher<>(batchSize,
+                row -> {
+                    Income income = new Income(row.userId(), row.category(), row.amount(), row.date(), row.description());
+                    income.setCurrency(row.currency());
+                    return income;
+                },
+                incomeService::saveIncome);
+        return read(body, format, batcher);
+    }
+
+    private ImportResult read(InputStream body, ImportFormat format, Batcher<?> batcher) throws IOException {
+        if (format == ImportFormat.CSV) {
+            readCsv(body, batcher);
+        } else {
+            readJson(body, batcher);
+        }
+        return batcher.finish();
+    }
+
+    // Handles both newline-delimited JSON and a single top-level array. For an array the parser is
+    // moved onto its first element, so the iterator reads the elements rather than the array itself.
+    private void readJson(InputStream body, Batcher<?> batcher) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == null || (first == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.END_ARRAY)) {
+                return;
+            }
+            MappingIterator<ImportRow> rows = objectMapper.readerFor(ImportRow.class).readValues(parser);
+            long record = 0;
+            while (true) {
+                record++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    batcher.accept(record, rows.nextValue());
+                } catch (JsonParseException e) {
+                    batcher.reject(record, "malformed JSON, import stopped: " + e.getOriginalMessage());
+                    return;
+                } catch (JsonMappingException e) {
+                    batcher.reject(record, e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readCsv(InputStream body, Batcher<?> batcher) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        String line;
+        long record = 0;
+        while ((line = readRecord(reader)) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            record++;
+            try {
+                List<String> values = splitCsv(line);
+                String userId = column(values, columns, "userid");
+                String amount = column(values, columns, "amount");
+                String date = column(values, columns, "date");
+                batcher.accept(record, new ImportRow(
+                        userId != null ? Long.valueOf(userId) : null,
+                        column(values, columns, "category"),
+                        amount != null ? Double.valueOf(amount) : null,
+                        date != null ? LocalDate.parse(date) : null,
+                        column(values, columns, "description"),
+                        column(values, columns, "currency")));
+            } catch (RuntimeException e) {
+                batcher.reject(record, e.getMessage());
+            }
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // One RFC 4180 record, which a quoted field may carry over several lines: they are joined
+    // until the quotes balance.
+    static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (record.chars().filter(c -> c == '"').count() % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+        }
+        return record.toString();
+    }
+
+    // The fields of a record from readRecord: commas and line breaks inside quotes, "" as an escaped quote.
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Batcher<T> {
+
+        private final int batchSize;
+        private final Function<ImportRow, T> factory;
+        private final Consumer<List<T>> saver;
+        private final List<T> buffer;
+        private final List<ImportBatch> batches = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+        private int batchRejected;
+
+        Batcher(int batchSize, Function<ImportRow, T> factory, Consumer<List<T>> saver) {
+            this.batchSize = batchSize;
+            this.factory = factory;
+            this.saver = saver;
+            this.buffer = new ArrayList<>(batchSize);
+        }
+
+        void accept(long record, ImportRow row) {
+            String error = row.validate();
+            if (error != null) {
+                reject(record, error);
+                return;
+            }
+            buffer.add(factory.apply(row));
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long record, String message) {
+            rejected++;
+            batchRejected++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("record " + record + ": " + message);
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty() && batchRejected == 0) {
+                return;
+            }
+            if (!buffer.isEmpty()) {
+                saver.accept(buffer);
+            }
+            batches.add(new ImportBatch(batches.size() + 1, buffer.size(), batchRejected));
+            accepted += buffer.size();
+            buffer.clear();
+            batchRejected = 0;
+        }
+
+        ImportResult finish() {
+            flush();
+            return new ImportResult(accepted, rejected, batches, errors);
+        }
+    }
+}
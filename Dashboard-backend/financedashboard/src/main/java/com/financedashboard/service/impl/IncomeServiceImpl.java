@@ -1,55 +1,185 @@
 package com.financedashboard.service.impl;
 
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.IncomeView;
+import com.financedashboard.dto.KeysetCursor;
 import com.financedashboard.entities.Income;
 import com.financedashboard.DBBean.IncomeRepository;
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.DBBean.RollupDelta;
+import com.financedashboard.DBBean.UserDayCategoryTotal;
+import com.financedashboard.financedashboard.CacheConfig;
 import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class IncomeServiceImpl implements IncomeService {
 
+    private static final String ROLLUP_KIND = UserDataKind.INCOME.name();
+    private static final int DELETE_CHUNK = 1000;
+
     private final IncomeRepository incomeRepository;
+    private final BatchWriter batchWriter;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public IncomeServiceImpl(IncomeRepository incomeRepository) {
+    public IncomeServiceImpl(IncomeRepository incomeRepository, BatchWriter batchWriter,
+                             MonthlyRollupRepository monthlyRollupRepository, ApplicationEventPublisher eventPublisher) {
         this.incomeRepository = incomeRepository;
+        this.batchWriter = batchWriter;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public List<Income> getAllIncome() {
-        return incomeRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<IncomeView> getAllIncome() {
+        return incomeRepository.findAllViews();
     }
 
     @Override
-    public List<Income> getIncomeByUserId(Long userId) {
-        return incomeRepository.getIncomeByUserId(userId);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.INCOMES_BY_USER, key = "#userId")
+    public List<IncomeView> getIncomeByUserId(Long userId) {
+        return incomeRepository.findViewsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<IncomeView> getIncomePage(Long userId, LocalDate from, LocalDate to, String category, String cursor, int size) {
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : new KeysetCursor(QueryBounds.from(from), 0L);
+        Slice<IncomeView> slice = incomeRepository.findPageAfter(userId, QueryBounds.to(to), after.date(), after.id(),
+                category, PageRequest.of(0, QueryBounds.pageSize(size)));
+        List<IncomeView> items = slice.getContent();
+        String next = null;
+        if (slice.hasNext()) {
+            IncomeView last = items.get(items.size() - 1);
+            next = new KeysetCursor(last.date(), last.id()).encode();
+        }
+        return new CursorPage<>(items, next, slice.hasNext());
     }
 
     @Override
     public List<Income> saveIncome(List<Income> income) {
-        return incomeRepository.saveAll(income);
+        List<Income> saved = batchWriter.saveInChunks(income, this::saveChunk);
+        saved.stream().map(Income::getUserId).distinct().forEach(this::publishChange);
+        return saved;
+    }
+
+    // Rows that already have an id are updates through saveAll, so their old values are
+    // taken out of the rollup before the new ones are added.
+    private List<Income> saveChunk(List<Income> chunk) {
+        RollupDelta delta = new RollupDelta();
+        List<Long> ids = chunk.stream().map(Income::getId).filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            Map<Long, Long> versions = new HashMap<>();
+            for (Income before : incomeRepository.findAllById(ids)) {
+                addToRollup(delta, before, -1);
+                versions.put(before.getId(), before.getVersion());
+            }
+            // Rows sent without a version update whatever is stored, as they did before versioning.
+            for (Income row : chunk) {
+                if (row.getId() != null && row.getVersion() == null) {
+                    row.setVersion(versions.get(row.getId()));
+                }
+            }
+        }
+        List<Income> saved = incomeRepository.saveAll(chunk);
+        for (Income row : saved) {
+            addToRollup(delta, row, 1);
+        }
+        monthlyRollupRepository.apply(delta);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Income updateIncome(Long id, Income income) {
+        return edit(id, income, false);
+    }
+
+    @Override
+    @Transactional
+    public Income patchIncome(Long id, Income changes) {
+        return edit(id, changes, true);
+    }
+
+    // The old row is needed for the rollup delta, so it is loaded once; @DynamicUpdate and @Version
+    // then flush an UPDATE of only the changed columns, guarded by the row version.
+    private Income edit(Long id, Income changes, boolean partial) {
         Income existing = incomeRepository.findById(id).orElse(null);
-        if (existing != null) {
-            existing.setCategory(income.getCategory());
-            existing.setAmount(income.getAmount());
-            existing.setDate(income.getDate());
-            existing.setDescription(income.getDescription());
-            return incomeRepository.save(existing);
+        if (existing == null) {
+            return null;
         }
-        return null;
+        Edits.checkVersion(Income.class, id, changes.getVersion(), existing.getVersion());
+        RollupDelta delta = new RollupDelta();
+        addToRollup(delta, existing, -1);
+        existing.setCategory(Edits.value(partial, changes.getCategory(), existing.getCategory()));
+        // Currency first: the minor units of the new amount depend on it.
+        existing.setCurrency(Edits.value(partial, changes.getCurrency(), existing.getCurrency()));
+        existing.setAmountMinor(Edits.value(partial, changes.amountMinorIn(existing.getCurrency()), existing.getAmountMinor()));
+        existing.setDate(Edits.value(partial, changes.getDate(), existing.getDate()));
+        existing.setDescription(Edits.value(partial, changes.getDescription(), existing.getDescription()));
+        addToRollup(delta, existing, 1);
+        monthlyRollupRepository.apply(delta);
+        publishChange(existing.getUserId());
+        return incomeRepository.saveAndFlush(existing);
     }
 
     @Override
+    @Transactional
     public void deleteIncome(Long id) {
-        incomeRepository.deleteById(id);
+        incomeRepository.findById(id).ifPresent(existing -> {
+            incomeRepository.delete(existing);
+            RollupDelta delta = new RollupDelta();
+            addToRollup(delta, existing, -1);
+            monthlyRollupRepository.apply(delta);
+            publishChange(existing.getUserId());
+        });
     }
+
+    // Per chunk of ids: one grouped read for the rollup and one DELETE, instead of a load and a delete per row.
     @Override
-    public void deleteAllIncomes(List<Long> ids) {
-        incomeRepository.deleteAllById(ids);
+    @Transactional
+    public int deleteAllIncomes(Long userId, List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        RollupDelta delta = new RollupDelta();
+        Set<Long> users = new HashSet<>();
+        int deleted = 0;
+        for (int from = 0; from < distinct.size(); from += DELETE_CHUNK) {
+            List<Long> chunk = distinct.subList(from, Math.min(distinct.size(), from + DELETE_CHUNK));
+            for (UserDayCategoryTotal group : incomeRepository.sumByIds(chunk, userId)) {
+                delta.addTotal(group.getUserId(), ROLLUP_KIND, group.getBookedOn(), group.getCategory(), group.getCurrency(),
+                        group.getTotal() != null ? -group.getTotal() : 0L, -group.getEntries());
+                users.add(group.getUserId());
+            }
+            deleted += incomeRepository.deleteByIds(chunk, userId);
+        }
+        monthlyRollupRepository.apply(delta);
+        users.forEach(this::publishChange);
+        return deleted;
+    }
+
+    private static void addToRollup(RollupDelta delta, Income row, int count) {
+        delta.add(row.getUserId(), ROLLUP_KIND, row.getDate(), row.getCategory(), row.getCurrency(), row.getAmountMinor(), count);
+    }
+
+    private void publishChange(Long userId) {
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataKind.INCOME));
     }
 }
@@ -0,0 +1,65 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.TrackerPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Keeps the current month and financedashboard.partitions.months-ahead months after it partitioned,
+// so new rows never fall into the default partition. Runs at startup and then daily; does nothing
+// on databases without partitioned trackers.
+@Component
+public class PartitionMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    private static final List<String> TABLES = List.of("expense_tracker", "income_tracker");
+
+    private final TrackerPartitionRepository partitionRepository;
+    private final int monthsAhead;
+
+    public PartitionMaintenanceJob(TrackerPartitionRepository partitionRepository,
+                                   @Value("${financedashboard.partitions.months-ahead:3}") int monthsAhead) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${financedashboard.partitions.cron:0 0 3 * * *}")
+    public void run() {
+        ensurePartitions(LocalDate.now());
+    }
+
+    // Returns the number of partitions created. A month that cannot be created is logged and
+    // skipped, so one failure neither stops startup nor the remaining months and tables; the next
+    // run tries it again.
+    public int ensurePartitions(LocalDate today) {
+        if (!partitionRepository.isPartitioned()) {
+            return 0;
+        }
+        int created = 0;
+        LocalDate first = today.withDayOfMonth(1);
+        for (String table : TABLES) {
+            for (int m = 0; m <= monthsAhead; m++) {
+                LocalDate month = first.plusMonths(m);
+                try {
+                    if (!partitionRepository.hasMonthPartition(table, month)) {
+                        partitionRepository.createMonthPartition(table, month);
+                        created++;
+                    }
+                } catch (DataAccessException e) {
+                    log.error("Could not create the {} partition of {}", month, table, e);
+                }
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,70 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.dto.PurgeJobStatus;
+import com.financedashboard.dto.PurgeState;
+import com.financedashboard.service.event.UserDataKind;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Progress of one purge. Written by the thread running it and read by status requests.
+final class PurgeJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final Map<UserDataKind, Long> rowsDeleted = new EnumMap<>(UserDataKind.class);
+    private PurgeState state = PurgeState.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Throwable error;
+
+    PurgeJob(Long userId) {
+        this.userId = userId;
+    }
+
+    String id() {
+        return id;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    synchronized void start() {
+        state = PurgeState.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    synchronized void deleted(UserDataKind kind, int rows) {
+        rowsDeleted.merge(kind, (long) rows, Long::sum);
+    }
+
+    synchronized void succeed() {
+        state = PurgeState.SUCCEEDED;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void fail(Throwable cause) {
+        state = PurgeState.FAILED;
+        finishedAt = Instant.now();
+        error = cause;
+    }
+
+    synchronized Throwable error() {
+        return error;
+    }
+
+    synchronized PurgeJobStatus status() {
+        long total = rowsDeleted.values().stream().mapToLong(Long::longValue).sum();
+        double rate = 0d;
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+            rate = millis > 0 ? total * 1000d / millis : total;
+        }
+        return new PurgeJobStatus(id, userId, state, Map.copyOf(rowsDeleted), total, rate, startedAt, finishedAt,
+                error != null ? error.getMessage() : null);
+    }
+}
@@ -0,0 +1,152 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.DBBean.UserDataPurgeRepository;
+import com.financedashboard.DBBean.UserRepository;
+import com.financedashboard.dto.PurgeJobStatus;
+import com.financedashboard.service.ArchiveService;
+import com.financedashboard.service.PurgeService;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Removes a user and everything they own. The users row goes first, in its own transaction, so
+// the account disappears at once; tracker rows then go in chunks of financedashboard.purge.chunk-size,
+// one short transaction each, so other requests on the same tables are never blocked for long.
+// Rows purged are counted in financedashboard.purge.rows (tagged by kind); its rate is rows/second.
+// Archived expense and income rows are removed last, by rewriting the archive files that hold them.
+@Service
+public class PurgeServiceImpl implements PurgeService {
+
+    private final UserRepository userRepository;
+    private final UserDataPurgeRepository purgeRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final ArchiveService archiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Map<UserDataKind, Counter> rowCounters = new EnumMap<>(UserDataKind.class);
+    private final Timer chunkTimer;
+    private final Cache<String, PurgeJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(10_000)
+            .build();
+
+    public PurgeServiceImpl(UserRepository userRepository, UserDataPurgeRepository purgeRepository,
+                            MonthlyRollupRepository monthlyRollupRepository, ArchiveService archiveService,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                            @Value("${financedashboard.purge.chunk-size:5000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.purgeRepository = purgeRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.archiveService = archiveService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        for (UserDataKind kind : UserDataKind.values()) {
+            rowCounters.put(kind, Counter.builder("financedashboard.purge.rows")
+                    .tag("kind", kind.name().toLowerCase())
+                    .description("Tracker rows removed by user purges")
+                    .register(meterRegistry));
+        }
+        this.chunkTimer = Timer.builder("financedashboard.purge.chunk")
+                .description("Time per purge chunk transaction")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public PurgeJobStatus purgeUser(Long userId) {
+        PurgeJob job = register(userId);
+        run(job);
+        if (job.error() != null) {
+            throw new IllegalStateException("Purge of user " + userId + " failed", job.error());
+        }
+        return job.status();
+    }
+
+    @Override
+    public PurgeJobStatus startPurge(Long userId) {
+        PurgeJob job = register(userId);
+        taskExecutor.execute(() -> run(job));
+        return job.status();
+    }
+
+    @Override
+    public PurgeJobStatus getJob(String jobId) {
+        PurgeJob job = jobs.getIfPresent(jobId);
+        return job != null ? job.status() : null;
+    }
+
+    private PurgeJob register(Long userId) {
+        PurgeJob job = new PurgeJob(userId);
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    // Failures are recorded on the job rather than thrown, so async runs report them through the status.
+    private void run(PurgeJob job) {
+        Long userId = job.userId();
+        job.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.deleteById(userId);
+                purgeRepository.deleteRecurringRules(userId);
+            });
+            purge(job, UserDataKind.EXPENSE, purgeRepository::deleteExpenseChunk);
+            purge(job, UserDataKind.INCOME, purgeRepository::deleteIncomeChunk);
+            purge(job, UserDataKind.GOAL, purgeRepository::deleteGoalChunk);
+            transactionTemplate.executeWithoutResult(status -> monthlyRollupRepository.deleteByUserId(userId));
+            purgeArchived(job, UserDataKind.EXPENSE);
+            purgeArchived(job, UserDataKind.INCOME);
+            for (UserDataKind kind : UserDataKind.values()) {
+                eventPublisher.publishEvent(new UserDataChangedEvent(userId, kind));
+            }
+            job.succeed();
+        } catch (RuntimeException e) {
+            job.fail(e);
+        }
+    }
+
+    private void purgeArchived(PurgeJob job, UserDataKind kind) {
+        try {
+            int removed = archiveService.purgeArchived(job.userId(), kind);
+            rowCounters.get(kind).increment(removed);
+            job.deleted(kind, removed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void purge(PurgeJob job, UserDataKind kind, BiFunction<Long, Integer, Integer> deleteChunk) {
+        int deleted;
+        do {
+            long started = System.nanoTime();
+            deleted = transactionTemplate.execute(status -> deleteChunk.apply(job.userId(), chunkSize));
+            chunkTimer.record(Duration.ofNanos(System.nanoTime() - started));
+            rowCounters.get(kind).increment(deleted);
+            job.deleted(kind, deleted);
+        } while (deleted >= chunkSize);
+    }
+}
@@ -0,0 +1,29 @@
+package com.financedashboard.service.impl;
+
+import java.time.LocalDate;
+
+// Defaults shared by the range and paging queries, so open-ended requests keep the same query shape.
+final class QueryBounds {
+
+    static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private QueryBounds() {}
+
+    static LocalDate from(LocalDate from) {
+        return from != null ? from : MIN_DATE;
+    }
+
+    static LocalDate to(LocalDate to) {
+        return to != null ? to : MAX_DATE;
+    }
+
+    static int pageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
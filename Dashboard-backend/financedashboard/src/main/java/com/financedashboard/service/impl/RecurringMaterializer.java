@@ -0,0 +1,200 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.DBBean.RecurringOccurrenceRepository;
+import com.financedashboard.DBBean.RecurringOccurrenceRepository.Claim;
+import com.financedashboard.DBBean.RecurringOccurrenceRepository.Occurrence;
+import com.financedashboard.DBBean.RecurringRuleRepository;
+import com.financedashboard.DBBean.RollupDelta;
+import com.financedashboard.dto.RecurringRunResult;
+import com.financedashboard.entities.RecurringRule;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Writes the due occurrences of recurring rules as expense and income rows. Due rules are read in
+// id order, financedashboard.recurring.batch-size at a time, and each batch is one transaction:
+// the rules are claimed (see RecurringOccurrenceRepository), their rows inserted as JDBC batches
+// and the monthly rollup updated, so a run can stop anywhere and the next one resumes cleanly.
+//
+// Each node only handles users in [min-user-id, max-user-id]; give nodes disjoint ranges to split
+// the work. Overlapping ranges are safe, just wasted effort, since a period is only claimed once.
+// financedashboard.recurring.rules counts rules materialized (its rate is rules/second) and
+// financedashboard.recurring.lag is the age of the oldest occurrence still due, in seconds.
+@Component
+public class RecurringMaterializer {
+
+    // Per rule and run, so a rule that is years behind cannot make one batch arbitrarily large;
+    // the rest is written by the following runs.
+    private static final int MAX_OCCURRENCES_PER_RUN = 366;
+
+    private final RecurringRuleRepository ruleRepository;
+    private final RecurringOccurrenceRepository occurrenceRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long minUserId;
+    private final long maxUserId;
+    private final Counter ruleCounter;
+    private final Counter expenseRowCounter;
+    private final Counter incomeRowCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public RecurringMaterializer(RecurringRuleRepository ruleRepository, RecurringOccurrenceRepository occurrenceRepository,
+                                 MonthlyRollupRepository monthlyRollupRepository, PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                 @Value("${financedashboard.recurring.batch-size:500}") int batchSize,
+                                 @Value("${financedashboard.recurring.min-user-id:0}") long minUserId,
+                                 @Value("${financedashboard.recurring.max-user-id:9223372036854775807}") long maxUserId) {
+        this.ruleRepository = ruleRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.minUserId = minUserId;
+        this.maxUserId = maxUserId;
+        this.ruleCounter = Counter.builder("financedashboard.recurring.rules")
+                .description("Recurring rules that had occurrences written")
+                .register(meterRegistry);
+        this.expenseRowCounter = rowCounter(meterRegistry, UserDataKind.EXPENSE);
+        this.incomeRowCounter = rowCounter(meterRegistry, UserDataKind.INCOME);
+        this.batchTimer = Timer.builder("financedashboard.recurring.batch")
+                .description("Time per materializer batch transaction")
+                .register(meterRegistry);
+        Gauge.builder("financedashboard.recurring.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest recurring occurrence not yet written")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${financedashboard.recurring.interval:PT15M}",
+            initialDelayString = "${financedashboard.recurring.initial-delay:PT1M}")
+    public void run() {
+        materialize(LocalDate.now());
+    }
+
+    public RecurringRunResult materialize(LocalDate today) {
+        long started = System.nanoTime();
+        updateLag(today);
+        int rules = 0;
+        long expenseRows = 0;
+        long incomeRows = 0;
+        long afterId = 0;
+        Batch batch;
+        while ((batch = materializeBatch(today, afterId)) != null) {
+            afterId = batch.lastId();
+            rules += batch.rules();
+            expenseRows += batch.expenseRows();
+            incomeRows += batch.incomeRows();
+        }
+        long lag = updateLag(today);
+        return new RecurringRunResult(rules, expenseRows, incomeRows,
+                Duration.ofNanos(System.nanoTime() - started).toMillis(), lag);
+    }
+
+    private Batch materializeBatch(LocalDate today, long afterId) {
+        long started = System.nanoTime();
+        Batch batch = transactionTemplate.execute(status -> {
+            List<RecurringRule> due = ruleRepository.findDue(today, minUserId, maxUserId, afterId, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return null;
+            }
+            List<Claim> claims = new ArrayList<>(due.size());
+            for (RecurringRule rule : due) {
+                claims.add(claim(rule, today));
+            }
+            int[] claimed = occurrenceRepository.claim(claims);
+
+            List<Occurrence> expenses = new ArrayList<>();
+            List<Occurrence> incomes = new ArrayList<>();
+            RollupDelta delta = new RollupDelta();
+            Set<UserDataChangedEvent> changes = new HashSet<>();
+            int rules = 0;
+            for (int i = 0; i < due.size(); i++) {
+                if (claimed[i] == 0) {
+                    continue;
+                }
+                RecurringRule rule = due.get(i);
+                Claim claim = claims.get(i);
+                List<Occurrence> target = UserDataKind.EXPENSE.name().equals(rule.getKind()) ? expenses : incomes;
+                for (long n = claim.expectedOccurrences(); n < claim.occurrences(); n++) {
+                    LocalDate date = rule.getFrequency().occurrence(rule.getStartDate(), n, rule.getIntervalCount());
+                    target.add(new Occurrence(rule.getUserId(), rule.getCategory(), rule.getAmountMinor(),
+                            rule.getCurrency(), date, rule.getDescription()));
+                    delta.add(rule.getUserId(), rule.getKind(), date, rule.getCategory(), rule.getCurrency(), rule.getAmountMinor(), 1);
+                }
+                changes.add(new UserDataChangedEvent(rule.getUserId(), UserDataKind.valueOf(rule.getKind())));
+                rules++;
+            }
+            occurrenceRepository.insertExpenses(expenses);
+            occurrenceRepository.insertIncomes(incomes);
+            monthlyRollupRepository.apply(delta);
+            changes.forEach(eventPublisher::publishEvent);
+            return new Batch(due.get(due.size() - 1).getId(), rules, expenses.size(), incomes.size());
+        });
+        if (batch != null) {
+            batchTimer.record(Duration.ofNanos(System.nanoTime() - started));
+            ruleCounter.increment(batch.rules());
+            expenseRowCounter.increment(batch.expenseRows());
+            incomeRowCounter.increment(batch.incomeRows());
+        }
+        return batch;
+    }
+
+    // Every occurrence from the rule's next date up to today (and its end date), capped per run.
+    private static Claim claim(RecurringRule rule, LocalDate today) {
+        long occurrences = rule.getOccurrences();
+        LocalDate next = rule.getNextDate();
+        int written = 0;
+        while (next != null && !next.isAfter(today) && written < MAX_OCCURRENCES_PER_RUN) {
+            occurrences++;
+            written++;
+            next = rule.getFrequency().occurrence(rule.getStartDate(), occurrences, rule.getIntervalCount());
+            if (rule.getEndDate() != null && next.isAfter(rule.getEndDate())) {
+                next = null;
+            }
+        }
+        return new Claim(rule.getId(), rule.getOccurrences(), occurrences, next);
+    }
+
+    private long updateLag(LocalDate today) {
+        LocalDate oldest = ruleRepository.findOldestDue(today, minUserId, maxUserId);
+        long lag = oldest == null ? 0L
+                : Math.max(0L, Duration.between(oldest.atStartOfDay(ZoneId.systemDefault()).toInstant(), Instant.now()).toSeconds());
+        lagSeconds.set(lag);
+        return lag;
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, UserDataKind kind) {
+        return Counter.builder("financedashboard.recurring.rows")
+                .tag("kind", kind.name().toLowerCase())
+                .description("Tracker rows written for recurring rules")
+                .register(meterRegistry);
+    }
+
+    private record Batch(long lastId, int rules, long expenseRows, long incomeRows) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.RecurringRuleRepository;
+import com.financedashboard.dto.RecurringRunResult;
+import com.financedashboard.entities.RecurringRule;
+import com.financedashboard.service.RecurringRuleService;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class RecurringRuleServiceImpl implements RecurringRuleService {
+
+    private final RecurringRuleRepository ruleRepository;
+    private final RecurringMaterializer materializer;
+
+    public RecurringRuleServiceImpl(RecurringRuleRepository ruleRepository, RecurringMaterializer materializer) {
+        this.ruleRepository = ruleRepository;
+        this.materializer = materializer;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringRule> getRulesByUserId(Long userId) {
+        return ruleRepository.findByUserIdOrderById(userId);
+    }
+
+    // Rules are always created fresh: the schedule state is reset so the first occurrence is the
+    // start date, and anything already due is written by the next materializer run.
+    @Override
+    @Transactional
+    public List<RecurringRule> saveRules(List<RecurringRule> rules) {
+        for (RecurringRule rule : rules) {
+            validate(rule);
+            rule.setId(null);
+            rule.setVersion(null);
+            rule.setOccurrences(0L);
+            rule.setNextDate(rule.getEndDate() == null || !rule.getEndDate().isBefore(rule.getStartDate())
+                    ? rule.getStartDate() : null);
+        }
+        return ruleRepository.saveAll(rules);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long id) {
+        ruleRepository.deleteById(id);
+    }
+
+    @Override
+    public RecurringRunResult materializeDue() {
+        return materializer.materialize(LocalDate.now());
+    }
+
+    private static void validate(RecurringRule rule) {
+        if (rule.getUserId() == null || rule.getAmountMinor() == null || rule.getFrequency() == null
+                || rule.getStartDate() == null || rule.getKind() == null) {
+            throw new IllegalArgumentException("userId, kind, amount, frequency and startDate are required");
+        }
+        String kind = rule.getKind().toUpperCase(Locale.ROOT);
+        if (!kind.equals(UserDataKind.EXPENSE.name()) && !kind.equals(UserDataKind.INCOME.name())) {
+            throw new IllegalArgumentException("kind must be EXPENSE or INCOME");
+        }
+        rule.setKind(kind);
+        if (rule.getIntervalCount() == null) {
+            rule.setIntervalCount(1);
+        } else if (rule.getIntervalCount() < 1) {
+            throw new IllegalArgumentException("intervalCount must be at least 1");
+        }
+    }
+}
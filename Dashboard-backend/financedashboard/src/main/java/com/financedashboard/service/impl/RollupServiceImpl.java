@@ -0,0 +1,43 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.service.RollupService;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Recomputes rollup rows from the tracker tables. Used for backfills and repairs; the
+// services keep the rollup current between rebuilds. Each user is rebuilt in its own
+// transaction so a full rebuild never holds locks for long.
+@Service
+public class RollupServiceImpl implements RollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RollupServiceImpl(MonthlyRollupRepository monthlyRollupRepository, PlatformTransactionManager transactionManager) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void rebuildUser(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            monthlyRollupRepository.deleteByUserId(userId);
+            monthlyRollupRepository.rebuildForUser(userId, UserDataKind.EXPENSE.name(), "expense_tracker");
+            monthlyRollupRepository.rebuildForUser(userId, UserDataKind.INCOME.name(), "income_tracker");
+        });
+    }
+
+    @Override
+    public int rebuildAll() {
+        List<Long> userIds = monthlyRollupRepository.findTrackedUserIds();
+        for (Long userId : userIds) {
+            rebuildUser(userId);
+        }
+        return userIds.size();
+    }
+}
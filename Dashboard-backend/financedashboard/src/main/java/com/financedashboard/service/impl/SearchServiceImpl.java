@@ -0,0 +1,92 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.ExpenseRepository;
+import com.financedashboard.DBBean.IncomeRepository;
+import com.financedashboard.DBBean.SearchRepository;
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.IncomeView;
+import com.financedashboard.dto.SearchCursor;
+import com.financedashboard.dto.SearchHit;
+import com.financedashboard.service.SearchService;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import com.financedashboard.service.event.UserDataKind;
+import com.financedashboard.service.search.InMemorySearchIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// On Postgres searches run in the database against the GIN indexes. Elsewhere (H2 in tests) each
+// user's rows are loaded into an InMemorySearchIndex, kept until that user's data changes.
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private final SearchRepository searchRepository;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final boolean fullTextInDatabase;
+    private final Cache<Long, InMemorySearchIndex> indexes = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .maximumSize(1_000)
+            .build();
+
+    public SearchServiceImpl(SearchRepository searchRepository, ExpenseRepository expenseRepository,
+                             IncomeRepository incomeRepository, @Value("${spring.datasource.url}") String jdbcUrl) {
+        this.searchRepository = searchRepository;
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.fullTextInDatabase = DatabaseDriver.fromJdbcUrl(jdbcUrl) == DatabaseDriver.POSTGRESQL;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SearchHit> search(Long userId, String query, UserDataKind kind, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (kind == UserDataKind.GOAL) {
+            throw new IllegalArgumentException("kind must be expense or income");
+        }
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+        int pageSize = QueryBounds.pageSize(size);
+        List<SearchHit> hits = fullTextInDatabase
+                ? searchRepository.search(userId, query.strip(), kind, after, pageSize + 1)
+                : indexes.get(userId, this::buildIndex).search(query, kind, after, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<SearchHit> items = hasNext ? hits.subList(0, pageSize) : hits;
+        String next = null;
+        if (hasNext) {
+            SearchHit last = items.get(items.size() - 1);
+            next = new SearchCursor(last.score(), last.kind(), last.id()).encode();
+        }
+        return new CursorPage<>(items, next, hasNext);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (event.kind() != UserDataKind.GOAL && event.userId() != null) {
+            indexes.invalidate(event.userId());
+        }
+    }
+
+    private InMemorySearchIndex buildIndex(Long userId) {
+        List<SearchHit> rows = new ArrayList<>();
+        for (ExpenseView e : expenseRepository.findViewsByUserId(userId)) {
+            rows.add(new SearchHit(UserDataKind.EXPENSE, e.id(), e.userId(), e.category(), e.amountMinor(),
+                    e.currency(), e.date(), e.description(), 0));
+        }
+        for (IncomeView i : incomeRepository.findViewsByUserId(userId)) {
+            rows.add(new SearchHit(UserDataKind.INCOME, i.id(), i.userId(), i.category(), i.amountMinor(),
+                    i.currency(), i.date(), i.description(), 0));
+        }
+        return InMemorySearchIndex.of(rows);
+    }
+}
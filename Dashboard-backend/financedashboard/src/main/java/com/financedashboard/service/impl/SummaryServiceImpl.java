@@ -0,0 +1,244 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.DBBean.CategoryTotal;
+import com.financedashboard.DBBean.DayCategoryCurrencyTotal;
+import com.financedashboard.DBBean.DayTotal;
+import com.financedashboard.DBBean.ExpenseRepository;
+import com.financedashboard.DBBean.IncomeRepository;
+import com.financedashboard.DBBean.MonthTotal;
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.dto.SummaryBucket;
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.dto.SummaryResponse;
+import com.financedashboard.entities.Money;
+import com.financedashboard.service.FxRateService;
+import com.financedashboard.service.SummaryService;
+import com.financedashboard.service.fx.FxRateTable;
+import com.financedashboard.service.event.UserDataKind;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SummaryServiceImpl implements SummaryService {
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final FxRateService fxRateService;
+
+    public SummaryServiceImpl(IncomeRepository incomeRepository, ExpenseRepository expenseRepository,
+                              MonthlyRollupRepository monthlyRollupRepository, FxRateService fxRateService) {
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.fxRateService = fxRateService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SummaryResponse getSummary(Long userId, LocalDate from, LocalDate to, SummaryGrouping groupBy) {
+        return getSummary(userId, from, to, groupBy, null);
+    }
+
+    // Without a reporting currency the summary is in financedashboard.currency.default. The rollup's
+    // currencies show whether the months around the range hold anything else; only then are rows
+    // converted one day at a time, otherwise they are summed as stored.
+    @Override
+    @Transactional(readOnly = true)
+    public SummaryResponse getSummary(Long userId, LocalDate from, LocalDate to, SummaryGrouping groupBy, String reportingCurrency) {
+        String defaultCurrency = fxRateService.defaultCurrency();
+        String currency = reportingCurrency != null ? reportingCurrency : defaultCurrency;
+        LocalDate start = QueryBounds.from(from);
+        LocalDate end = QueryBounds.to(to);
+        for (String stored : monthlyRollupRepository.currencies(userId, start, end)) {
+            if (!currency.equals(stored != null ? stored : defaultCurrency)) {
+                return convertedSummary(userId, from, to, groupBy, currency);
+            }
+        }
+
+        List<SummaryBucket> income;
+        List<SummaryBucket> expense;
+        if (groupBy != SummaryGrouping.WEEK && coversWholeMonths(from, to)) {
+            String incomeKind = UserDataKind.INCOME.name();
+            String expenseKind = UserDataKind.EXPENSE.name();
+            if (groupBy == SummaryGrouping.MONTH) {
+                income = monthlyRollupRepository.sumByMonth(userId, incomeKind, start, end);
+                expense = monthlyRollupRepository.sumByMonth(userId, expenseKind, start, end);
+            } else {
+                income = monthlyRollupRepository.sumByCategory(userId, incomeKind, start, end);
+                expense = monthlyRollupRepository.sumByCategory(userId, expenseKind, start, end);
+            }
+            return response(userId, from, to, groupBy, currency, income, expense);
+        }
+        switch (groupBy) {
+            case MONTH -> {
+                income = byMonth(incomeRepository.sumByMonth(userId, start, end));
+                expense = byMonth(expenseRepository.sumByMonth(userId, start, end));
+            }
+            case WEEK -> {
+                income = byWeek(incomeRepository.sumByDay(userId, start, end));
+                expense = byWeek(expenseRepository.sumByDay(userId, start, end));
+            }
+            default -> {
+                income = byCategory(incomeRepository.sumByCategory(userId, start, end));
+                expense = byCategory(expenseRepository.sumByCategory(userId, start, end));
+            }
+        }
+        return response(userId, from, to, groupBy, currency, income, expense);
+    }
+
+    // The rollup could only convert a month at one rate, so converted summaries start from
+    // day-level totals per currency and convert each at its day's rate.
+    private SummaryResponse convertedSummary(Long userId, LocalDate from, LocalDate to, SummaryGrouping groupBy, String currency) {
+        LocalDate start = QueryBounds.from(from);
+        LocalDate end = QueryBounds.to(to);
+        FxRateTable rates = fxRateService.rates();
+        int target = rates.indexOf(currency);
+        if (target < 0) {
+            throw new IllegalArgumentException("No FX rates for " + currency);
+        }
+        String defaultCurrency = fxRateService.defaultCurrency();
+        List<SummaryBucket> income = converted(incomeRepository.sumByDayCategoryAndCurrency(userId, start, end),
+                groupBy, rates, target, defaultCurrency);
+        List<SummaryBucket> expense = converted(expenseRepository.sumByDayCategoryAndCurrency(userId, start, end),
+                groupBy, rates, target, defaultCurrency);
+        return response(userId, from, to, groupBy, currency, income, expense);
+    }
+
+    // Rows arrive ordered by date, so month and week keys are contiguous; categories are looked up.
+    private static List<SummaryBucket> converted(List<DayCategoryCurrencyTotal> rows, SummaryGrouping groupBy,
+                                                 FxRateTable rates, int target, String defaultCurrency) {
+        int count = rows.size();
+        int[] keyOf = new int[count];
+        long[] amounts = new long[count];
+        long[] entries = new long[count];
+        List<String> keys = new ArrayList<>();
+        Map<String, Integer> categories = new HashMap<>();
+        Map<String, Integer> currencies = new HashMap<>();
+        int current = Integer.MIN_VALUE;
+        for (int r = 0; r < count; r++) {
+            DayCategoryCurrencyTotal row = rows.get(r);
+            LocalDate day = row.getBookedOn();
+            if (groupBy == SummaryGrouping.CATEGORY) {
+                keyOf[r] = categories.computeIfAbsent(row.getCategory(), category -> {
+                    keys.add(category);
+                    return keys.size() - 1;
+                });
+            } else {
+                boolean weekly = groupBy == SummaryGrouping.WEEK;
+                int year = weekly ? day.get(IsoFields.WEEK_BASED_YEAR) : day.getYear();
+                int period = weekly ? day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR) : day.getMonthValue();
+                if (year * 100 + period != current) {
+                    current = year * 100 + period;
+                    keys.add(String.format(weekly ? "%04d-W%02d" : "%04d-%02d", year, period));
+                }
+                keyOf[r] = keys.size() - 1;
+            }
+            String code = row.getCurrency() != null ? row.getCurrency() : defaultCurrency;
+            int source = currencies.computeIfAbsent(code, rates::indexOf);
+            if (source < 0) {
+                throw new IllegalArgumentException("No FX rates for " + code);
+            }
+            amounts[r] = rates.convert(valueOf(row.getTotal()), source, target, day.toEpochDay());
+            entries[r] = row.getEntries();
+        }
+        long[] totals = new long[keys.size()];
+        long[] counts = new long[keys.size()];
+        AmountKernels.sumByKey(keyOf, amounts, count, totals);
+        AmountKernels.sumByKey(keyOf, entries, count, counts);
+        List<SummaryBucket> buckets = new ArrayList<>(keys.size());
+        for (int k = 0; k < keys.size(); k++) {
+            buckets.add(new SummaryBucket(keys.get(k), totals[k], counts[k]));
+        }
+        if (groupBy == SummaryGrouping.CATEGORY) {
+            buckets.sort(Comparator.comparing(SummaryBucket::key, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return buckets;
+    }
+
+    // The rollup is kept per calendar month, so it can only answer ranges made of whole months.
+    private static boolean coversWholeMonths(LocalDate from, LocalDate to) {
+        return (from == null || from.getDayOfMonth() == 1)
+                && (to == null || to.getDayOfMonth() == to.lengthOfMonth());
+    }
+
+    private static List<SummaryBucket> byCategory(List<CategoryTotal> rows) {
+        List<SummaryBucket> buckets = new ArrayList<>(rows.size());
+        for (CategoryTotal row : rows) {
+            buckets.add(new SummaryBucket(row.getCategory(), valueOf(row.getTotal()), row.getEntries()));
+        }
+        return buckets;
+    }
+
+    private static List<SummaryBucket> byMonth(List<MonthTotal> rows) {
+        List<SummaryBucket> buckets = new ArrayList<>(rows.size());
+        for (MonthTotal row : rows) {
+            String key = String.format("%04d-%02d", row.getYr(), row.getMon());
+            buckets.add(new SummaryBucket(key, valueOf(row.getTotal()), row.getEntries()));
+        }
+        return buckets;
+    }
+
+    // ISO week-years do not line up with calendar years, so daily totals are folded here
+    // rather than relying on each database's week() semantics. Rows arrive ordered by date, so
+    // each week's days are contiguous and get one dense index for the summation kernel.
+    private static List<SummaryBucket> byWeek(List<DayTotal> rows) {
+        int count = rows.size();
+        int[] week = new int[count];
+        long[] amounts = new long[count];
+        long[] entries = new long[count];
+        List<String> keys = new ArrayList<>();
+        int current = Integer.MIN_VALUE;
+        for (int r = 0; r < count; r++) {
+            DayTotal row = rows.get(r);
+            LocalDate day = row.getBookedOn();
+            int weekYear = day.get(IsoFields.WEEK_BASED_YEAR);
+            int weekOfYear = day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            if (weekYear * 100 + weekOfYear != current) {
+                current = weekYear * 100 + weekOfYear;
+                keys.add(String.format("%04d-W%02d", weekYear, weekOfYear));
+            }
+            week[r] = keys.size() - 1;
+            amounts[r] = valueOf(row.getTotal());
+            entries[r] = row.getEntries();
+        }
+        long[] weekTotals = new long[keys.size()];
+        long[] weekEntries = new long[keys.size()];
+        AmountKernels.sumByKey(week, amounts, count, weekTotals);
+        AmountKernels.sumByKey(week, entries, count, weekEntries);
+        List<SummaryBucket> buckets = new ArrayList<>(keys.size());
+        for (int w = 0; w < keys.size(); w++) {
+            buckets.add(new SummaryBucket(keys.get(w), weekTotals[w], weekEntries[w]));
+        }
+        return buckets;
+    }
+
+    // Every bucket holds minor units of the reporting currency by now.
+    private static SummaryResponse response(Long userId, LocalDate from, LocalDate to, SummaryGrouping groupBy,
+                                            String currency, List<SummaryBucket> income, List<SummaryBucket> expense) {
+        List<SummaryBucket> incomeIn = income.stream().map(bucket -> bucket.in(currency)).toList();
+        List<SummaryBucket> expenseIn = expense.stream().map(bucket -> bucket.in(currency)).toList();
+        return new SummaryResponse(userId, from, to, groupBy, currency,
+                total(incomeIn, currency), total(expenseIn, currency), incomeIn, expenseIn);
+    }
+
+    private static double total(List<SummaryBucket> buckets, String currency) {
+        long[] totals = new long[buckets.size()];
+        for (int b = 0; b < totals.length; b++) {
+            totals[b] = buckets.get(b).totalMinor();
+        }
+        return Money.toMajor(AmountKernels.sum(totals, totals.length), currency);
+    }
+
+    private static long valueOf(Long amount) {
+        return amount != null ? amount : 0L;
+    }
+}
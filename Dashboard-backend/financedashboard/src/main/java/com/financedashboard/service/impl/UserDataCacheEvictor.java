@@ -0,0 +1,37 @@
+package com.financedashboard.service.impl;
+
+import com.financedashboard.financedashboard.CacheConfig;
+import com.financedashboard.service.event.UserDataChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Drops a user's cached list once the write that changed it has committed, so readers
+// never repopulate the cache from a transaction that is still in flight.
+@Component
+public class UserDataCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public UserDataCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Before any other after-commit work, so later listeners see the cache already cleared.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        String name = switch (event.kind()) {
+            case INCOME -> CacheConfig.INCOMES_BY_USER;
+            case EXPENSE -> CacheConfig.EXPENSES_BY_USER;
+            case GOAL -> CacheConfig.GOALS_BY_USER;
+        };
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null && event.userId() != null) {
+            cache.evict(event.userId());
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.financedashboard.service.impl;
 
 import com.financedashboard.entities.User;
 import com.financedashboard.DBBean.UserRepository;
+import com.financedashboard.service.PurgeService;
 import com.financedashboard.service.UserService;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -11,9 +14,11 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final PurgeService purgeService;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, PurgeService purgeService) {
         this.userRepository = userRepository;
+        this.purgeService = purgeService;
     }
 
     @Override
@@ -37,19 +42,43 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public User updateUser(Long id, User user) {
+        if (user.getVersion() != null) {
+            int updated = userRepository.updateIfVersion(id, user.getVersion(), user.getName(), user.getEmail(), user.getPassword());
+            if (updated == 0) {
+                if (userRepository.existsById(id)) {
+                    throw new ObjectOptimisticLockingFailureException(User.class, id);
+                }
+                return null;
+            }
+            user.setId(id);
+            user.setVersion(user.getVersion() + 1);
+            return user;
+        }
+        return edit(id, user, false);
+    }
+
+    @Override
+    @Transactional
+    public User patchUser(Long id, User changes) {
+        return edit(id, changes, true);
+    }
+
+    private User edit(Long id, User changes, boolean partial) {
         User existingUser = userRepository.findById(id).orElse(null);
-        if (existingUser != null) {
-            existingUser.setName(user.getName());
-            existingUser.setEmail(user.getEmail());
-            existingUser.setPassword(user.getPassword());
-            return userRepository.save(existingUser);
+        if (existingUser == null) {
+            return null;
         }
-        return null;
+        Edits.checkVersion(User.class, id, changes.getVersion(), existingUser.getVersion());
+        existingUser.setName(Edits.value(partial, changes.getName(), existingUser.getName()));
+        existingUser.setEmail(Edits.value(partial, changes.getEmail(), existingUser.getEmail()));
+        existingUser.setPassword(Edits.value(partial, changes.getPassword(), existingUser.getPassword()));
+        return userRepository.saveAndFlush(existingUser);
     }
 
     @Override
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        purgeService.purgeUser(id);
     }
 }
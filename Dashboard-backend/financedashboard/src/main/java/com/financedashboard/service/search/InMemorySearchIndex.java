@@ -0,0 +1,127 @@
+package com.financedashboard.service.search;
+
+import com.financedashboard.dto.SearchCursor;
+import com.financedashboard.dto.SearchHit;
+import com.financedashboard.service.event.UserDataKind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Inverted index over one user's rows, for databases without full-text search (H2 in tests).
+//
+// Category and description words map to the rows containing them, weighted like the tsvector in
+// postgresql/V11 (category 1.0, description 0.4). Each query word matches indexed words exactly or
+// by pg_trgm-style trigram similarity, so typos still match; a row scores the sum over query
+// words of its best match. Scores are not comparable with the Postgres ones, only the order is.
+public final class InMemorySearchIndex {
+
+    private static final double CATEGORY_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+    private static final double MIN_SIMILARITY = 0.4;
+    private static final Comparator<SearchHit> ORDER = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparing(hit -> hit.kind().name())
+            .thenComparing(SearchHit::id);
+
+    private final List<SearchHit> rows;
+    private final Map<String, Map<Integer, Double>> postings;
+    private final Map<String, Set<String>> wordsByTrigram;
+
+    private InMemorySearchIndex(List<SearchHit> rows, Map<String, Map<Integer, Double>> postings,
+                                Map<String, Set<String>> wordsByTrigram) {
+        this.rows = rows;
+        this.postings = postings;
+        this.wordsByTrigram = wordsByTrigram;
+    }
+
+    public static InMemorySearchIndex of(List<SearchHit> rows) {
+        Map<String, Map<Integer, Double>> postings = new HashMap<>();
+        for (int r = 0; r < rows.size(); r++) {
+            SearchHit row = rows.get(r);
+            for (String word : words(row.description())) {
+                postings.computeIfAbsent(word, w -> new HashMap<>()).merge(r, DESCRIPTION_WEIGHT, Math::max);
+            }
+            for (String word : words(row.category())) {
+                postings.computeIfAbsent(word, w -> new HashMap<>()).merge(r, CATEGORY_WEIGHT, Math::max);
+            }
+        }
+        Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+        for (String word : postings.keySet()) {
+            for (String trigram : trigrams(word)) {
+                wordsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(word);
+            }
+        }
+        return new InMemorySearchIndex(List.copyOf(rows), postings, wordsByTrigram);
+    }
+
+    // kind null searches both trackers; after null starts from the best match.
+    public List<SearchHit> search(String query, UserDataKind kind, SearchCursor after, int limit) {
+        double[] scores = new double[rows.size()];
+        for (String word : words(query)) {
+            double[] best = new double[rows.size()];
+            similarWords(word).forEach((match, similarity) ->
+                    postings.get(match).forEach((row, weight) -> best[row] = Math.max(best[row], similarity * weight)));
+            for (int r = 0; r < scores.length; r++) {
+                scores[r] += best[r];
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>();
+        for (int r = 0; r < scores.length; r++) {
+            if (scores[r] > 0 && (kind == null || rows.get(r).kind() == kind)) {
+                SearchHit hit = rows.get(r).withScore(scores[r]);
+                if (after == null || hit.isAfter(after)) {
+                    hits.add(hit);
+                }
+            }
+        }
+        hits.sort(ORDER);
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    private Map<String, Double> similarWords(String word) {
+        Set<String> trigrams = trigrams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams) {
+            for (String candidate : wordsByTrigram.getOrDefault(trigram, Set.of())) {
+                shared.merge(candidate, 1, Integer::sum);
+            }
+        }
+        Map<String, Double> similar = new HashMap<>();
+        shared.forEach((candidate, common) -> {
+            double similarity = candidate.equals(word) ? 1.0
+                    : common / (double) (trigrams.size() + trigrams(candidate).size() - common);
+            if (similarity >= MIN_SIMILARITY) {
+                similar.put(candidate, similarity);
+            }
+        });
+        return similar;
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // As pg_trgm: the word padded with two spaces in front and one behind, cut into 3-grams.
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
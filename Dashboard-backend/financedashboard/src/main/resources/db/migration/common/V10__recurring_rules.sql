@@ -0,0 +1,25 @@
+-- Recurring expense/income rules. Occurrence n falls on start_date advanced by n * interval_count
+-- frequency units; occurrences counts those already written and next_date is the next one due
+-- (NULL once the rule is past its end_date).
+CREATE TABLE IF NOT EXISTS recurring_rule
+(
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint NOT NULL,
+    kind varchar(16) NOT NULL,
+    category varchar(255),
+    amount_minor bigint NOT NULL,
+    currency varchar(3),
+    description varchar(255),
+    frequency varchar(16) NOT NULL,
+    interval_count integer NOT NULL DEFAULT 1,
+    start_date date NOT NULL,
+    end_date date,
+    next_date date,
+    occurrences bigint NOT NULL DEFAULT 0,
+    version bigint NOT NULL DEFAULT 0,
+    CONSTRAINT recurring_rule_pkey PRIMARY KEY (id)
+);
+
+-- The materializer scans due rules by next_date within a user-id range; the API lists rules per user.
+CREATE INDEX IF NOT EXISTS idx_recurring_rule_next_date_user ON recurring_rule (next_date, user_id);
+CREATE INDEX IF NOT EXISTS idx_recurring_rule_user ON recurring_rule (user_id, id);
@@ -0,0 +1,13 @@
+-- Tracker months moved out to compressed files by the archive job. A month can have several
+-- files when rows for it arrive after it was first archived.
+CREATE TABLE IF NOT EXISTS tracker_archive
+(
+    file_path varchar(1024) NOT NULL,
+    table_name varchar(32) NOT NULL,
+    month_start date NOT NULL,
+    row_count bigint NOT NULL,
+    archived_at timestamp NOT NULL,
+    CONSTRAINT tracker_archive_pkey PRIMARY KEY (file_path)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tracker_archive_table_month ON tracker_archive (table_name, month_start);
@@ -0,0 +1,21 @@
+-- The rollup is kept per currency, so a summary can tell from it whether a range holds any row it
+-- would have to convert. Rows without a currency (financedashboard.currency.default) are stored
+-- under the empty string, as uncategorised rows are.
+ALTER TABLE monthly_rollup ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT '';
+ALTER TABLE monthly_rollup DROP CONSTRAINT monthly_rollup_pkey;
+ALTER TABLE monthly_rollup ADD CONSTRAINT monthly_rollup_pkey PRIMARY KEY (user_id, kind, month_start, category, currency);
+DELETE FROM monthly_rollup;
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, currency, total_minor, txn_count)
+SELECT user_id, 'EXPENSE', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, ''),
+       COALESCE(SUM(amount_minor), 0), COUNT(*)
+FROM expense_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, '');
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, currency, total_minor, txn_count)
+SELECT user_id, 'INCOME', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, ''),
+       COALESCE(SUM(amount_minor), 0), COUNT(*)
+FROM income_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, '');
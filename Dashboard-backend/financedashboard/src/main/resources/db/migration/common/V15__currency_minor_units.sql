@@ -0,0 +1,55 @@
+-- Amounts were stored in hundredths whatever the currency; they are now in each currency's ISO 4217
+-- minor unit (JPY 0 digits, KWD 3, CLF 4), rows without a currency in financedashboard.currency.default.
+-- Zero-digit amounts round to whole units. Archive files written before this keep hundredths and are
+-- recognised by their header when read.
+UPDATE expense_tracker SET amount_minor = CASE
+    WHEN COALESCE(currency, '${default-currency}') IN ('ADP', 'BEF', 'BIF', 'BYB', 'BYR', 'CLP', 'DJF', 'ESP', 'GNF', 'GRD', 'ISK', 'ITL', 'JPY', 'KMF', 'KRW', 'LUF',
+                                                   'MGF', 'PTE', 'PYG', 'ROL', 'RWF', 'TPE', 'TRL', 'UGX', 'UYI', 'VND', 'VUV', 'XAF', 'XOF', 'XPF')
+        THEN CAST(ROUND(amount_minor / 100.0) AS BIGINT)
+    WHEN COALESCE(currency, '${default-currency}') IN ('BHD', 'IQD', 'JOD', 'KWD', 'LYD', 'OMR', 'TND') THEN amount_minor * 10
+    WHEN COALESCE(currency, '${default-currency}') = 'CLF' THEN amount_minor * 100
+    ELSE amount_minor END
+WHERE amount_minor IS NOT NULL;
+
+UPDATE income_tracker SET amount_minor = CASE
+    WHEN COALESCE(currency, '${default-currency}') IN ('ADP', 'BEF', 'BIF', 'BYB', 'BYR', 'CLP', 'DJF', 'ESP', 'GNF', 'GRD', 'ISK', 'ITL', 'JPY', 'KMF', 'KRW', 'LUF',
+                                                   'MGF', 'PTE', 'PYG', 'ROL', 'RWF', 'TPE', 'TRL', 'UGX', 'UYI', 'VND', 'VUV', 'XAF', 'XOF', 'XPF')
+        THEN CAST(ROUND(amount_minor / 100.0) AS BIGINT)
+    WHEN COALESCE(currency, '${default-currency}') IN ('BHD', 'IQD', 'JOD', 'KWD', 'LYD', 'OMR', 'TND') THEN amount_minor * 10
+    WHEN COALESCE(currency, '${default-currency}') = 'CLF' THEN amount_minor * 100
+    ELSE amount_minor END
+WHERE amount_minor IS NOT NULL;
+
+UPDATE goals_tracker SET amount_minor = CASE
+    WHEN COALESCE(currency, '${default-currency}') IN ('ADP', 'BEF', 'BIF', 'BYB', 'BYR', 'CLP', 'DJF', 'ESP', 'GNF', 'GRD', 'ISK', 'ITL', 'JPY', 'KMF', 'KRW', 'LUF',
+                                                   'MGF', 'PTE', 'PYG', 'ROL', 'RWF', 'TPE', 'TRL', 'UGX', 'UYI', 'VND', 'VUV', 'XAF', 'XOF', 'XPF')
+        THEN CAST(ROUND(amount_minor / 100.0) AS BIGINT)
+    WHEN COALESCE(currency, '${default-currency}') IN ('BHD', 'IQD', 'JOD', 'KWD', 'LYD', 'OMR', 'TND') THEN amount_minor * 10
+    WHEN COALESCE(currency, '${default-currency}') = 'CLF' THEN amount_minor * 100
+    ELSE amount_minor END
+WHERE amount_minor IS NOT NULL;
+
+UPDATE recurring_rule SET amount_minor = CASE
+    WHEN COALESCE(currency, '${default-currency}') IN ('ADP', 'BEF', 'BIF', 'BYB', 'BYR', 'CLP', 'DJF', 'ESP', 'GNF', 'GRD', 'ISK', 'ITL', 'JPY', 'KMF', 'KRW', 'LUF',
+                                                   'MGF', 'PTE', 'PYG', 'ROL', 'RWF', 'TPE', 'TRL', 'UGX', 'UYI', 'VND', 'VUV', 'XAF', 'XOF', 'XPF')
+        THEN CAST(ROUND(amount_minor / 100.0) AS BIGINT)
+    WHEN COALESCE(currency, '${default-currency}') IN ('BHD', 'IQD', 'JOD', 'KWD', 'LYD', 'OMR', 'TND') THEN amount_minor * 10
+    WHEN COALESCE(currency, '${default-currency}') = 'CLF' THEN amount_minor * 100
+    ELSE amount_minor END
+WHERE amount_minor IS NOT NULL;
+
+DELETE FROM monthly_rollup;
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, currency, total_minor, txn_count)
+SELECT user_id, 'EXPENSE', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, ''),
+       COALESCE(SUM(amount_minor), 0), COUNT(*)
+FROM expense_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, '');
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, currency, total_minor, txn_count)
+SELECT user_id, 'INCOME', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, ''),
+       COALESCE(SUM(amount_minor), 0), COUNT(*)
+FROM income_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(currency, '');
@@ -0,0 +1,46 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update (see Database/Scripts.sql).
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id bigint NOT NULL,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    CONSTRAINT users_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS expense_tracker
+(
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    amount double precision,
+    category varchar(255),
+    date date,
+    description varchar(255),
+    user_id bigint,
+    CONSTRAINT expense_tracker_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS income_tracker
+(
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    amount double precision,
+    category varchar(255),
+    date date,
+    description varchar(255),
+    user_id bigint,
+    CONSTRAINT income_tracker_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS goals_tracker
+(
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    amount double precision,
+    category varchar(255),
+    description varchar(255),
+    end_date date,
+    start_date date,
+    type varchar(255),
+    user_id bigint,
+    CONSTRAINT goals_tracker_pkey PRIMARY KEY (id)
+);
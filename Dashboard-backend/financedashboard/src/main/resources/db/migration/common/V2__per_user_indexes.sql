@@ -0,0 +1,11 @@
+-- Per-user lookups, keyset pages (date, id) and date-range summaries.
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_user_date ON expense_tracker (user_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_user_category_date ON expense_tracker (user_id, category, date);
+
+CREATE INDEX IF NOT EXISTS idx_income_tracker_user_date ON income_tracker (user_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_income_tracker_user_category_date ON income_tracker (user_id, category, date);
+
+CREATE INDEX IF NOT EXISTS idx_goals_tracker_user_start_date ON goals_tracker (user_id, start_date);
+
+-- Login looks users up by email; duplicates must be cleaned up before this runs.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_email ON users (email);
@@ -0,0 +1,3 @@
+-- Pooled id allocation for batched inserts; the increment must match allocationSize on the entities.
+CREATE SEQUENCE IF NOT EXISTS expense_tracker_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS income_tracker_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,25 @@
+-- Per-user monthly totals by category, kept up to date by the income/expense services.
+-- Uncategorised rows are stored under the empty string so the key can stay NOT NULL.
+CREATE TABLE IF NOT EXISTS monthly_rollup
+(
+    user_id bigint NOT NULL,
+    kind varchar(16) NOT NULL,
+    month_start date NOT NULL,
+    category varchar(255) NOT NULL,
+    total double precision NOT NULL,
+    txn_count bigint NOT NULL,
+    CONSTRAINT monthly_rollup_pkey PRIMARY KEY (user_id, kind, month_start, category)
+);
+
+-- One-off backfill from existing rows; later repairs go through the rollup rebuild endpoint.
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, total, txn_count)
+SELECT user_id, 'EXPENSE', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(SUM(amount), 0), COUNT(*)
+FROM expense_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, '');
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, total, txn_count)
+SELECT user_id, 'INCOME', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(SUM(amount), 0), COUNT(*)
+FROM income_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, '');
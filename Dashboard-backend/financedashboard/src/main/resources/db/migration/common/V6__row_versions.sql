@@ -0,0 +1,5 @@
+-- Optimistic-locking versions; existing rows start at 0.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE expense_tracker ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE income_tracker ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE goals_tracker ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
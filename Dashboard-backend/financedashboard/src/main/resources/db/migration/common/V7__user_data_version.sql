@@ -0,0 +1,7 @@
+-- Per-user change counter for each kind of tracker data; the GET endpoints derive ETags from it.
+CREATE TABLE IF NOT EXISTS user_data_version (
+    user_id BIGINT NOT NULL,
+    kind VARCHAR(16) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (user_id, kind)
+);
@@ -0,0 +1,30 @@
+-- Fixed-point amounts: whole minor units (cents) in BIGINT replace double precision.
+ALTER TABLE expense_tracker ADD COLUMN amount_minor BIGINT;
+UPDATE expense_tracker SET amount_minor = CAST(ROUND(amount * 100) AS BIGINT);
+ALTER TABLE expense_tracker DROP COLUMN amount;
+
+ALTER TABLE income_tracker ADD COLUMN amount_minor BIGINT;
+UPDATE income_tracker SET amount_minor = CAST(ROUND(amount * 100) AS BIGINT);
+ALTER TABLE income_tracker DROP COLUMN amount;
+
+ALTER TABLE goals_tracker ADD COLUMN amount_minor BIGINT;
+UPDATE goals_tracker SET amount_minor = CAST(ROUND(amount * 100) AS BIGINT);
+ALTER TABLE goals_tracker DROP COLUMN amount;
+
+-- Rounding each stored total would not match the sum of the rounded rows, so the rollup is
+-- rebuilt from the converted tables instead.
+ALTER TABLE monthly_rollup DROP COLUMN total;
+ALTER TABLE monthly_rollup ADD COLUMN total_minor BIGINT NOT NULL DEFAULT 0;
+DELETE FROM monthly_rollup;
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, total_minor, txn_count)
+SELECT user_id, 'EXPENSE', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(SUM(amount_minor), 0), COUNT(*)
+FROM expense_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, '');
+
+INSERT INTO monthly_rollup (user_id, kind, month_start, category, total_minor, txn_count)
+SELECT user_id, 'INCOME', CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, ''), COALESCE(SUM(amount_minor), 0), COUNT(*)
+FROM income_tracker
+WHERE user_id IS NOT NULL AND date IS NOT NULL
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', date) AS DATE), COALESCE(category, '');
@@ -0,0 +1,13 @@
+-- ISO 4217 code per row; NULL means financedashboard.currency.default, which covers all existing rows.
+ALTER TABLE expense_tracker ADD COLUMN currency VARCHAR(3);
+ALTER TABLE income_tracker ADD COLUMN currency VARCHAR(3);
+ALTER TABLE goals_tracker ADD COLUMN currency VARCHAR(3);
+
+-- Daily reference rates: units of currency per one unit of financedashboard.fx.base-currency.
+CREATE TABLE IF NOT EXISTS fx_rate
+(
+    currency varchar(3) NOT NULL,
+    rate_date date NOT NULL,
+    rate double precision NOT NULL,
+    CONSTRAINT fx_rate_pkey PRIMARY KEY (currency, rate_date)
+);
@@ -0,0 +1,6 @@
+-- H2 counterpart of postgresql/V4; the tables are empty when this runs.
+ALTER TABLE expense_tracker ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE expense_tracker ALTER COLUMN id SET DEFAULT NEXT VALUE FOR expense_tracker_seq;
+
+ALTER TABLE income_tracker ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE income_tracker ALTER COLUMN id SET DEFAULT NEXT VALUE FOR income_tracker_seq;
@@ -0,0 +1,25 @@
+-- Full-text and fuzzy search over category and description (/api/search). Postgres only; other
+-- databases (H2 in tests) search through the in-process index in SearchServiceImpl.
+--
+-- search_vector weights the category above the description; search_text is the lower-cased
+-- "category description" that pg_trgm matches misspellings and fragments against. btree_gin
+-- lets user_id lead both GIN indexes, so a search only ever visits the one user's entries.
+-- Adding the stored columns rewrites each table once.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE expense_tracker ADD COLUMN search_text text
+    GENERATED ALWAYS AS (lower(coalesce(category, '') || ' ' || coalesce(description, ''))) STORED;
+ALTER TABLE expense_tracker ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(category, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_search_vector ON expense_tracker USING gin (user_id, search_vector);
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_search_trgm ON expense_tracker USING gin (user_id, search_text gin_trgm_ops);
+
+ALTER TABLE income_tracker ADD COLUMN search_text text
+    GENERATED ALWAYS AS (lower(coalesce(category, '') || ' ' || coalesce(description, ''))) STORED;
+ALTER TABLE income_tracker ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(category, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_income_tracker_search_vector ON income_tracker USING gin (user_id, search_vector);
+CREATE INDEX IF NOT EXISTS idx_income_tracker_search_trgm ON income_tracker USING gin (user_id, search_text gin_trgm_ops);
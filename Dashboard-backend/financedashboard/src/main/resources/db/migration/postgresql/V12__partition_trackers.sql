@@ -0,0 +1,88 @@
+-- Range-partition the trackers by month of date. Each table is rebuilt as a partitioned table and
+-- its rows copied across, so this takes an exclusive lock for the length of the copy.
+--
+-- Partitions are named <table>_pYYYY_MM and cover [first of month, first of next month). Rows
+-- without a date, or outside the created months, land in <table>_default. Postgres cannot enforce
+-- a key that leaves out the partition column, so (id, date) is unique and ids stay unique through
+-- the sequences. PartitionMaintenanceJob keeps financedashboard.partitions.months-ahead months
+-- created ahead of today; months more than 50 years back are left in the default partition.
+
+ALTER TABLE expense_tracker RENAME TO expense_tracker_unpartitioned;
+ALTER TABLE income_tracker RENAME TO income_tracker_unpartitioned;
+
+CREATE TABLE expense_tracker
+(
+    id bigint NOT NULL DEFAULT nextval('expense_tracker_seq'),
+    user_id bigint,
+    category varchar(255),
+    amount_minor bigint,
+    currency varchar(3),
+    date date,
+    description varchar(255),
+    version bigint NOT NULL DEFAULT 0,
+    search_text text GENERATED ALWAYS AS (lower(coalesce(category, '') || ' ' || coalesce(description, ''))) STORED,
+    search_vector tsvector GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(category, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED
+) PARTITION BY RANGE (date);
+
+CREATE TABLE income_tracker
+(
+    id bigint NOT NULL DEFAULT nextval('income_tracker_seq'),
+    user_id bigint,
+    category varchar(255),
+    amount_minor bigint,
+    currency varchar(3),
+    date date,
+    description varchar(255),
+    version bigint NOT NULL DEFAULT 0,
+    search_text text GENERATED ALWAYS AS (lower(coalesce(category, '') || ' ' || coalesce(description, ''))) STORED,
+    search_vector tsvector GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(category, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED
+) PARTITION BY RANGE (date);
+
+CREATE TABLE expense_tracker_default PARTITION OF expense_tracker DEFAULT;
+CREATE TABLE income_tracker_default PARTITION OF income_tracker DEFAULT;
+
+DO $$
+DECLARE
+    tracker text;
+    first_month date;
+    month_start date;
+BEGIN
+    FOREACH tracker IN ARRAY ARRAY['expense_tracker', 'income_tracker']
+    LOOP
+        EXECUTE format('SELECT MIN(date) FROM %I', tracker || '_unpartitioned') INTO first_month;
+        first_month := GREATEST(COALESCE(first_month, CURRENT_DATE), CAST(CURRENT_DATE - interval '50 years' AS date));
+        FOR month_start IN
+            SELECT CAST(m AS date)
+            FROM generate_series(CAST(date_trunc('month', CAST(first_month AS timestamp)) AS timestamp),
+                                 date_trunc('month', CAST(CURRENT_DATE AS timestamp)) + interval '3 months',
+                                 interval '1 month') AS m
+        LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           tracker || '_p' || to_char(month_start, 'YYYY_MM'), tracker,
+                           month_start, CAST(month_start + interval '1 month' AS date));
+        END LOOP;
+    END LOOP;
+END $$;
+
+INSERT INTO expense_tracker (id, user_id, category, amount_minor, currency, date, description, version)
+SELECT id, user_id, category, amount_minor, currency, date, description, version FROM expense_tracker_unpartitioned;
+INSERT INTO income_tracker (id, user_id, category, amount_minor, currency, date, description, version)
+SELECT id, user_id, category, amount_minor, currency, date, description, version FROM income_tracker_unpartitioned;
+
+DROP TABLE expense_tracker_unpartitioned;
+DROP TABLE income_tracker_unpartitioned;
+
+-- Indexes on the parent are created on every partition, current and future.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_expense_tracker_id_date ON expense_tracker (id, date);
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_user_date ON expense_tracker (user_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_user_category_date ON expense_tracker (user_id, category, date);
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_search_vector ON expense_tracker USING gin (user_id, search_vector);
+CREATE INDEX IF NOT EXISTS idx_expense_tracker_search_trgm ON expense_tracker USING gin (user_id, search_text gin_trgm_ops);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_income_tracker_id_date ON income_tracker (id, date);
+CREATE INDEX IF NOT EXISTS idx_income_tracker_user_date ON income_tracker (user_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_income_tracker_user_category_date ON income_tracker (user_id, category, date);
+CREATE INDEX IF NOT EXISTS idx_income_tracker_search_vector ON income_tracker USING gin (user_id, search_vector);
+CREATE INDEX IF NOT EXISTS idx_income_tracker_search_trgm ON income_tracker USING gin (user_id, search_text gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- Move the tracker ids from IDENTITY to the pooled sequences. Rows inserted outside
+-- Hibernate still get unique ids from the column default, since the pooled optimizer
+-- only hands out values at or below the sequence value it fetched.
+ALTER TABLE expense_tracker ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE expense_tracker ALTER COLUMN id SET DEFAULT nextval('expense_tracker_seq');
+SELECT setval('expense_tracker_seq', COALESCE((SELECT MAX(id) FROM expense_tracker), 0) + 50);
+
+ALTER TABLE income_tracker ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE income_tracker ALTER COLUMN id SET DEFAULT nextval('income_tracker_seq');
+SELECT setval('income_tracker_seq', COALESCE((SELECT MAX(id) FROM income_tracker), 0) + 50);
@@ -0,0 +1,93 @@
+package com.financedashboard.benchmark;
+
+import com.financedashboard.service.impl.AmountKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 1M amounts, totalled and grouped into 12 categories: boxed Doubles (the projection values and
+// map merges the aggregations used before) against the minor-unit kernels over long[].
+// The profile's -prof gc output shows the allocation rate each variant adds.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=AmountSummationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AmountSummationBenchmark {
+
+    private static final int CATEGORIES = 12;
+
+    @Param("1000000")
+    private int rows;
+
+    private List<Double> boxedAmounts;
+    private String[] categoryNames;
+    private long[] minorAmounts;
+    private int[] categories;
+    private long[] categoryTotals;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        boxedAmounts = new ArrayList<>(rows);
+        categoryNames = new String[rows];
+        minorAmounts = new long[rows];
+        categories = new int[rows];
+        categoryTotals = new long[CATEGORIES];
+        for (int i = 0; i < rows; i++) {
+            long cents = 1 + random.nextInt(500_000);
+            minorAmounts[i] = cents;
+            boxedAmounts.add(cents / 100.0);
+            categories[i] = random.nextInt(CATEGORIES);
+            categoryNames[i] = "cat" + categories[i];
+        }
+    }
+
+    @Benchmark
+    public double boxedTotal() {
+        double total = 0;
+        for (Double amount : boxedAmounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long minorUnitTotal() {
+        return AmountKernels.sum(minorAmounts, rows);
+    }
+
+    @Benchmark
+    public Map<String, Double> boxedByCategory() {
+        Map<String, Double> totals = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            totals.merge(categoryNames[i], boxedAmounts.get(i), Double::sum);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public long[] minorUnitByCategory() {
+        Arrays.fill(categoryTotals, 0);
+        AmountKernels.sumByKey(categories, minorAmounts, rows, categoryTotals);
+        return categoryTotals;
+    }
+}
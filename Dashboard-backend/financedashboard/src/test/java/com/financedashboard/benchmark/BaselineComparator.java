@@ -0,0 +1,88 @@
+package com.financedashboard.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH JSON result file against a stored baseline of the same format and exits non-zero
+// when any benchmark got worse by more than the threshold percentage. Throughput is better when
+// higher, the time modes when lower; a change within the two runs' combined score error is
+// treated as noise. Benchmarks missing from either file are listed but not failed.
+// Usage: BaselineComparator <result.json> <baseline.json> <threshold %>
+// The benchmark profile runs it after JMH; a nightly job keeps the baseline (-Djmh.baseline).
+public final class BaselineComparator {
+
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    private BaselineComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("usage: BaselineComparator <result.json> <baseline.json> <threshold %>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[1]);
+        if (!baselineFile.isFile()) {
+            System.out.println("No baseline at " + baselineFile + "; nothing to compare.");
+            return;
+        }
+        Map<String, Score> results = read(new File(args[0]));
+        Map<String, Score> baseline = read(baselineFile);
+        double threshold = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "result", "change");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(results).entrySet()) {
+            Score result = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || !before.mode().equals(result.mode()) || !before.unit().equals(result.unit())) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", result.score(), "new");
+                continue;
+            }
+            double worse = worsening(before, result);
+            boolean regressed = worse > threshold
+                    && Math.abs(result.score() - before.score()) > before.error() + result.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %8.1f%%%s%n", entry.getKey(), before.score(), result.score(),
+                    -worse, regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !results.containsKey(key))
+                .sorted()
+                .forEach(key -> System.out.printf("%-90s %14.3f %14s %9s%n", key, baseline.get(key).score(), "-", "missing"));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // Percentage by which the result is worse than the baseline; negative when it improved.
+    private static double worsening(Score before, Score result) {
+        double change = (result.score() - before.score()) / before.score() * 100;
+        return before.mode().equals("thrpt") ? -change : change;
+    }
+
+    // Keyed by benchmark method and parameters, e.g. ...TrackerJsonBenchmark.serialize{kind=goal, rows=10000}.
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(run.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString()),
+                    new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                            Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
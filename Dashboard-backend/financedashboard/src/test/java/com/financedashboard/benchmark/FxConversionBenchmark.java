@@ -0,0 +1,111 @@
+package com.financedashboard.benchmark;
+
+import com.financedashboard.dto.FxRate;
+import com.financedashboard.service.fx.FxRateTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Converting 1M day-level totals to the base currency: the epoch-day arrays in FxRateTable
+// against a per-row floor lookup in a TreeMap of BigDecimal quotes per currency.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=FxConversionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FxConversionBenchmark {
+
+    private static final String BASE = "INR";
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "AED"};
+    private static final int DAYS = 3 * 365;
+
+    @Param("1000000")
+    private int rows;
+
+    private FxRateTable table;
+    private Map<String, TreeMap<LocalDate, BigDecimal>> quotes;
+    private String[] codes;
+    private int[] sources;
+    private long[] days;
+    private long[] amounts;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate first = LocalDate.of(2022, 1, 1);
+
+        List<FxRate> rates = new ArrayList<>();
+        quotes = new HashMap<>();
+        for (String currency : CURRENCIES) {
+            TreeMap<LocalDate, BigDecimal> series = new TreeMap<>();
+            for (int d = 0; d < DAYS; d++) {
+                // Weekday quotes only, so both sides have gaps to fill.
+                LocalDate date = first.plusDays(d);
+                if (date.getDayOfWeek().getValue() >= 6) {
+                    continue;
+                }
+                double rate = 0.005 + random.nextDouble() * 0.01;
+                rates.add(new FxRate(currency, date, rate));
+                series.put(date, BigDecimal.valueOf(rate));
+            }
+            quotes.put(currency, series);
+        }
+        table = FxRateTable.of(BASE, rates);
+
+        codes = new String[rows];
+        sources = new int[rows];
+        days = new long[rows];
+        amounts = new long[rows];
+        for (int r = 0; r < rows; r++) {
+            codes[r] = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            sources[r] = table.indexOf(codes[r]);
+            // 2022-01-01 is a Saturday; skip the opening weekend so every row has a rate.
+            days[r] = first.toEpochDay() + 3 + random.nextInt(DAYS - 3);
+            amounts[r] = 100 + random.nextInt(500_000);
+        }
+    }
+
+    @Benchmark
+    public long table() {
+        long total = 0;
+        for (int r = 0; r < rows; r++) {
+            total += table.convert(amounts[r], sources[r], 0, days[r]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long treeMapLookup() {
+        long total = 0;
+        for (int r = 0; r < rows; r++) {
+            BigDecimal rate = quotes.get(codes[r]).floorEntry(LocalDate.ofEpochDay(days[r])).getValue();
+            total += BigDecimal.valueOf(amounts[r])
+                    .divide(rate, MathContext.DECIMAL64)
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,139 @@
+package com.financedashboard.benchmark;
+
+import com.financedashboard.service.impl.GoalProgressCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 1k goals over 1M transactions: the single sweep in GoalProgressCalculator against filtering
+// every transaction for every goal, which is what the dashboard does client-side today.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=GoalProgressBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GoalProgressBenchmark {
+
+    private static final int CATEGORIES = 12;
+    private static final int DAYS = 3 * 365;
+
+    @Param("1000")
+    private int goals;
+    @Param("1000000")
+    private int transactions;
+
+    private long[] goalStart;
+    private long[] goalEnd;
+    private int[] goalCategory;
+    private long[] expenseDays;
+    private int[] expenseCategories;
+    private long[] expenseAmounts;
+    private long[] incomeDays;
+    private long[] incomeAmounts;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long first = LocalDate.of(2022, 1, 1).toEpochDay();
+
+        goalStart = new long[goals];
+        goalEnd = new long[goals];
+        goalCategory = new int[goals];
+        for (int g = 0; g < goals; g++) {
+            goalStart[g] = first + random.nextInt(DAYS);
+            goalEnd[g] = goalStart[g] + 30 + random.nextInt(335);
+            goalCategory[g] = g % 10 == 0 ? GoalProgressCalculator.SAVINGS : random.nextInt(CATEGORIES);
+        }
+
+        int expenses = transactions * 3 / 4;
+        expenseDays = new long[expenses];
+        expenseCategories = new int[expenses];
+        expenseAmounts = new long[expenses];
+        for (int x = 0; x < expenses; x++) {
+            expenseDays[x] = first + random.nextInt(DAYS);
+            expenseCategories[x] = random.nextInt(CATEGORIES);
+            expenseAmounts[x] = 100 + random.nextInt(50_000);
+        }
+        sortByDay(expenseDays, expenseCategories, expenseAmounts);
+
+        int incomes = transactions - expenses;
+        incomeDays = new long[incomes];
+        incomeAmounts = new long[incomes];
+        for (int i = 0; i < incomes; i++) {
+            incomeDays[i] = first + random.nextInt(DAYS);
+            incomeAmounts[i] = 100 + random.nextInt(200_000);
+        }
+        Arrays.sort(incomeDays);
+    }
+
+    @Benchmark
+    public long[] sweep() {
+        return GoalProgressCalculator.progress(goalStart, goalEnd, goalCategory,
+                expenseDays, expenseCategories, expenseAmounts, expenseDays.length,
+                incomeDays, incomeAmounts, incomeDays.length, CATEGORIES);
+    }
+
+    @Benchmark
+    public long[] perGoalScan() {
+        long[] result = new long[goals];
+        for (int g = 0; g < goals; g++) {
+            long total = 0;
+            boolean savings = goalCategory[g] == GoalProgressCalculator.SAVINGS;
+            for (int x = 0; x < expenseDays.length; x++) {
+                if (expenseDays[x] >= goalStart[g] && expenseDays[x] <= goalEnd[g]
+                        && (savings || expenseCategories[x] == goalCategory[g])) {
+                    total += savings ? -expenseAmounts[x] : expenseAmounts[x];
+                }
+            }
+            if (savings) {
+                for (int i = 0; i < incomeDays.length; i++) {
+                    if (incomeDays[i] >= goalStart[g] && incomeDays[i] <= goalEnd[g]) {
+                        total += incomeAmounts[i];
+                    }
+                }
+            }
+            result[g] = total;
+        }
+        return result;
+    }
+
+    // Counting sort by day; the calculator expects transactions in date order, as the
+    // day-level queries return them.
+    private static void sortByDay(long[] days, int[] categories, long[] amounts) {
+        long min = Arrays.stream(days).min().orElse(0);
+        int[] offsets = new int[DAYS + 1];
+        for (long day : days) {
+            offsets[(int) (day - min) + 1]++;
+        }
+        for (int d = 1; d < offsets.length; d++) {
+            offsets[d] += offsets[d - 1];
+        }
+        long[] sortedDays = new long[days.length];
+        int[] sortedCategories = new int[days.length];
+        long[] sortedAmounts = new long[days.length];
+        for (int x = 0; x < days.length; x++) {
+            int to = offsets[(int) (days[x] - min)]++;
+            sortedDays[to] = days[x];
+            sortedCategories[to] = categories[x];
+            sortedAmounts[to] = amounts[x];
+        }
+        System.arraycopy(sortedDays, 0, days, 0, days.length);
+        System.arraycopy(sortedCategories, 0, categories, 0, days.length);
+        System.arraycopy(sortedAmounts, 0, amounts, 0, days.length);
+    }
+}
@@ -0,0 +1,83 @@
+package com.financedashboard.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.entities.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializing a 100k-row expense list: the entity list the endpoints used to return against the
+// record projection, in each wire format the API offers. Run with -prof gc (the profile's
+// default) to read allocation per operation next to the time.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=ListSerializationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ListSerializationBenchmark {
+
+    @Param("100000")
+    private int rows;
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<Expense> entities;
+    private List<ExpenseView> views;
+
+    @Setup
+    public void setUp() {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        entities = new ArrayList<>(rows);
+        views = new ArrayList<>(rows);
+        LocalDate first = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = first.plusDays(i % 730);
+            Expense expense = new Expense(42L, "cat" + (i % 12), 5.0 + i % 400, date, "expense " + i);
+            expense.setId((long) i + 1);
+            expense.setCurrency("INR");
+            expense.setVersion(0L);
+            entities.add(expense);
+            views.add(new ExpenseView((long) i + 1, 42L, "cat" + (i % 12), 500L + (i % 400) * 100L, "INR", date, "expense " + i, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] entityList() throws Exception {
+        return mapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] viewList() throws Exception {
+        return mapper.writeValueAsBytes(views);
+    }
+}
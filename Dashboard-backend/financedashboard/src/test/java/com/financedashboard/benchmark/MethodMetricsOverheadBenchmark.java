@@ -0,0 +1,121 @@
+package com.financedashboard.benchmark;
+
+import com.financedashboard.financedashboard.MethodMetricsInterceptor;
+import com.financedashboard.service.impl.AmountKernels;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the method timers: the same call made directly, through a bare CGLIB proxy, and through
+// a proxy carrying MethodMetricsInterceptor with a Prometheus registry and histograms on, as in
+// production. The call groups `rows` amounts into 12 categories, about what an in-memory
+// aggregation over a cached list costs; requests that reach the database take far longer, so
+// this is the worst case. With 10k rows the instrumented call should stay within 1% of the bare
+// proxy. Four threads share one timer, so counter contention is included.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=MethodMetricsOverheadBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+@Fork(1)
+public class MethodMetricsOverheadBenchmark {
+
+    private static final int CATEGORIES = 12;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private Workload direct;
+    private Workload proxied;
+    private Workload instrumented;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] categories = new int[rows];
+        long[] amounts = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            categories[i] = random.nextInt(CATEGORIES);
+            amounts[i] = 1 + random.nextInt(500_000);
+        }
+        direct = new Workload(categories, amounts);
+        proxied = proxy(direct, null);
+
+        MeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        instrumented = proxy(direct, new MethodMetricsInterceptor("financedashboard.service", null, true,
+                beans.getBeanProvider(MeterRegistry.class)));
+    }
+
+    @Benchmark
+    public List<Long> direct() {
+        return direct.totalsByCategory();
+    }
+
+    @Benchmark
+    public List<Long> proxied() {
+        return proxied.totalsByCategory();
+    }
+
+    @Benchmark
+    public List<Long> instrumented() {
+        return instrumented.totalsByCategory();
+    }
+
+    private static Workload proxy(Workload target, MethodMetricsInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        if (interceptor != null) {
+            factory.addAdvice(interceptor);
+        }
+        return (Workload) factory.getProxy();
+    }
+
+    public static class Workload {
+
+        private final int[] categories;
+        private final long[] amounts;
+
+        public Workload(int[] categories, long[] amounts) {
+            this.categories = categories;
+            this.amounts = amounts;
+        }
+
+        public List<Long> totalsByCategory() {
+            long[] totals = new long[CATEGORIES];
+            AmountKernels.sumByKey(categories, amounts, amounts.length, totals);
+            return Arrays.stream(totals).boxed().toList();
+        }
+    }
+}
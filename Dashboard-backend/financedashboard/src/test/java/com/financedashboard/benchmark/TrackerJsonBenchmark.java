@@ -0,0 +1,85 @@
+package com.financedashboard.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Goal;
+import com.financedashboard.entities.Income;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON request and response bodies of the three trackers: reading a posted List<Expense>,
+// List<Income> or List<Goal> and writing it back, as the POST endpoints do.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=TrackerJsonBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrackerJsonBenchmark {
+
+    @Param("10000")
+    private int rows;
+    @Param({"expense", "income", "goal"})
+    private String kind;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<?> entities;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<Object> list = new ArrayList<>(rows);
+        Class<?> type = switch (kind) {
+            case "income" -> Income.class;
+            case "goal" -> Goal.class;
+            default -> Expense.class;
+        };
+        for (int i = 0; i < rows; i++) {
+            String category = "cat" + (i % 12);
+            double amount = 1.0 + (i % 5_000) / 100.0;
+            LocalDate date = start.plusDays(i % 365);
+            list.add(switch (kind) {
+                case "income" -> new Income(1L, category, amount, date, "row " + i);
+                case "goal" -> new Goal(1L, category, amount, date, date.plusMonths(6), "row " + i, "saving");
+                default -> new Expense(1L, category, amount, date, "row " + i);
+            });
+        }
+        entities = list;
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+        json = mapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writerFor(listType).writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public List<?> deserialize() throws IOException {
+        return mapper.readValue(json, listType);
+    }
+}
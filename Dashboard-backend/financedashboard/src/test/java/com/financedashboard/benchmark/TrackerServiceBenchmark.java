@@ -0,0 +1,147 @@
+package com.financedashboard.benchmark;
+
+import com.financedashboard.FinancedashboardApplication;
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.dto.SummaryResponse;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Income;
+import com.financedashboard.financedashboard.TestRows;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.SummaryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The service paths end to end against an embedded H2 database (the test configuration, in its own
+// in-memory database): bulk saves through the service impls with their rollup upkeep, category
+// and month summaries over a 100k-row user, and single-row PUT and PATCH. Saved rows are deleted
+// after every iteration so the tables do not grow across the run.
+// Run with: mvn verify -Pbenchmark -Djmh.includes=TrackerServiceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TrackerServiceBenchmark {
+
+    private static final long SAVE_USER = 9_000_001L;
+    private static final long SUMMARY_USER = 9_000_002L;
+    private static final long UPDATE_USER = 9_000_003L;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Param("1000")
+    private int batch;
+    @Param("100000")
+    private int summaryRows;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private IncomeService incomeService;
+    private SummaryService summaryService;
+    private final List<Long> savedExpenseIds = new ArrayList<>();
+    private final List<Long> savedIncomeIds = new ArrayList<>();
+    private List<Expense> updatable;
+    private int nextUpdate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FinancedashboardApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "financedashboard.scheduling.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        expenseService = context.getBean(ExpenseService.class);
+        incomeService = context.getBean(IncomeService.class);
+        summaryService = context.getBean(SummaryService.class);
+        expenseService.saveExpense(TestRows.expenses(SUMMARY_USER, summaryRows));
+        updatable = expenseService.saveExpense(TestRows.expenses(UPDATE_USER, batch));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteSaved() {
+        expenseService.deleteAllExpenses(SAVE_USER, savedExpenseIds);
+        incomeService.deleteAllIncomes(SAVE_USER, savedIncomeIds);
+        savedExpenseIds.clear();
+        savedIncomeIds.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int saveExpenses() {
+        List<Expense> saved = expenseService.saveExpense(TestRows.expenses(SAVE_USER, batch));
+        saved.forEach(row -> savedExpenseIds.add(row.getId()));
+        return saved.size();
+    }
+
+    @Benchmark
+    public int saveIncomes() {
+        List<Income> saved = incomeService.saveIncome(incomes(SAVE_USER, batch));
+        saved.forEach(row -> savedIncomeIds.add(row.getId()));
+        return saved.size();
+    }
+
+    @Benchmark
+    public SummaryResponse summaryByCategory() {
+        return summaryService.getSummary(SUMMARY_USER, FROM, TO, SummaryGrouping.CATEGORY);
+    }
+
+    @Benchmark
+    public SummaryResponse summaryByMonth() {
+        return summaryService.getSummary(SUMMARY_USER, FROM, TO, SummaryGrouping.MONTH);
+    }
+
+    @Benchmark
+    public Expense updateExpense() {
+        Expense row = nextUpdatable();
+        Expense replacement = new Expense(UPDATE_USER, row.getCategory(), 10.0 + nextUpdate % 90, row.getDate(), row.getDescription());
+        replacement.setCurrency(row.getCurrency());
+        return expenseService.updateExpense(row.getId(), replacement);
+    }
+
+    @Benchmark
+    public Expense patchExpense() {
+        Expense changes = new Expense();
+        changes.setCategory("cat" + nextUpdate % 12);
+        return expenseService.patchExpense(nextUpdatable().getId(), changes);
+    }
+
+    private Expense nextUpdatable() {
+        nextUpdate = (nextUpdate + 1) % updatable.size();
+        return updatable.get(nextUpdate);
+    }
+
+    private static List<Income> incomes(long userId, int count) {
+        List<Income> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Income(userId, "cat" + (i % 4), 100.0 + (i % 500), FROM.plusDays(i % 366), "row " + i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,86 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.ArchivedRow;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.SummaryBucket;
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ArchiveService;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.PurgeService;
+import com.financedashboard.service.SummaryService;
+import com.financedashboard.service.event.UserDataKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+// Only this test writes rows before 2010, so archiving everything before then touches nothing else.
+@SpringBootTest(properties = "financedashboard.archive.dir=target/test-archive")
+class ArchiveTest {
+
+    private static final long USER_ID = 8101L;
+    private static final long OTHER_USER = 8102L;
+    private static final LocalDate CUTOFF = LocalDate.of(2010, 1, 1);
+
+    @Autowired
+    private ArchiveService archiveService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IncomeService incomeService;
+    @Autowired
+    private SummaryService summaryService;
+    @Autowired
+    private PurgeService purgeService;
+
+    @Test
+    void oldMonthsMoveToFilesAndCanBeReadBack() throws Exception {
+        expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Food", 12.5, LocalDate.of(2003, 1, 15), "coffee, \"beans\"\nand milk"),
+                new Expense(USER_ID, "Food", 7.5, LocalDate.of(2003, 1, 20), null),
+                new Expense(USER_ID, "Travel", 30.0, LocalDate.of(2003, 2, 10), "bus pass"),
+                new Expense(OTHER_USER, "Food", 99.0, LocalDate.of(2003, 1, 7), "other user"),
+                new Expense(USER_ID, "Food", 5.0, LocalDate.of(2024, 1, 1), "recent")));
+        incomeService.saveIncome(List.of(new Income(USER_ID, "Salary", 500.0, LocalDate.of(2003, 1, 31), "january")));
+
+        assertThat(archiveService.archiveBefore(CUTOFF)).isEqualTo(3);
+        assertThat(archiveService.archiveBefore(CUTOFF)).isZero();
+
+        assertThat(expenseService.getExpenseByUserId(USER_ID)).extracting(ExpenseView::description).containsExactly("recent");
+        List<ArchivedRow> january = archived(USER_ID, UserDataKind.EXPENSE, LocalDate.of(2003, 1, 1), LocalDate.of(2003, 1, 31));
+        assertThat(january).extracting(ArchivedRow::description).containsExactly("coffee, \"beans\"\nand milk", null);
+        assertThat(january).extracting(ArchivedRow::amount).containsExactly(12.5, 7.5);
+        assertThat(archived(USER_ID, UserDataKind.INCOME, null, null))
+                .extracting(ArchivedRow::category).containsExactly("Salary");
+
+        // Archived months leave the rollup too, so rollup-backed and row-backed summaries agree.
+        LocalDate from = LocalDate.of(2003, 1, 1);
+        LocalDate to = LocalDate.of(2003, 12, 31);
+        assertThat(summaryService.getSummary(USER_ID, from, to, SummaryGrouping.MONTH).expense()).isEmpty();
+        assertThat(summaryService.getSummary(USER_ID, from, to, SummaryGrouping.CATEGORY).expense()).isEmpty();
+        assertThat(summaryService.getSummary(USER_ID, from, to, SummaryGrouping.WEEK).expense()).isEmpty();
+        assertThat(summaryService.getSummary(USER_ID, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), SummaryGrouping.MONTH)
+                .expense()).extracting(SummaryBucket::key, SummaryBucket::total).containsExactly(tuple("2024-01", 5.0));
+
+        // Purging a user rewrites the archive files they appear in.
+        purgeService.purgeUser(OTHER_USER);
+        assertThat(archived(OTHER_USER, UserDataKind.EXPENSE, null, null)).isEmpty();
+        assertThat(archived(USER_ID, UserDataKind.EXPENSE, null, null)).hasSize(3);
+    }
+
+    private List<ArchivedRow> archived(Long userId, UserDataKind kind, LocalDate from, LocalDate to) throws IOException {
+        List<ArchivedRow> rows = new ArrayList<>();
+        archiveService.readArchived(userId, kind, from, to, rows::add);
+        return rows;
+    }
+}
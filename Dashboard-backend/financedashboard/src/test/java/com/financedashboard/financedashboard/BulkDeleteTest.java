@@ -0,0 +1,70 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.DBBean.MonthlyRollupRepository;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.event.UserDataKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+
+// A bulk delete costs two statements per chunk of 1000 ids, not two per row, plus one rollup batch
+// and the two data version bumps, and never touches rows owned by another user.
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkDeleteTest {
+
+    private static final long OWNER = 7401L;
+    private static final long OTHER_USER = 7402L;
+    private static final long UNNAMED_OWNER = 7403L;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Test
+    void deletesInChunksAndOnlyTheOwnersRows() {
+        List<Expense> owned = expenseService.saveExpense(TestRows.expenses(OWNER, 2_500));
+        List<Expense> foreign = expenseService.saveExpense(TestRows.expenses(OTHER_USER, 10));
+        List<Long> ids = Stream.concat(owned.stream(), foreign.stream()).map(Expense::getId).toList();
+
+        int deleted = StatementBudget.atMost(9, () -> expenseService.deleteAllExpenses(OWNER, ids));
+
+        assertThat(deleted).isEqualTo(2_500);
+        assertThat(expenseService.getExpenseByUserId(OWNER)).isEmpty();
+        assertThat(expenseService.getExpenseByUserId(OTHER_USER)).hasSize(10);
+        assertThat(monthlyRollupRepository.sumByCategory(OWNER, UserDataKind.EXPENSE.name(), FROM, TO)).isEmpty();
+    }
+
+    @Test
+    void theEndpointRequiresTheOwner() throws Exception {
+        List<Expense> saved = expenseService.saveExpense(TestRows.expenses(UNNAMED_OWNER, 3));
+        String ids = saved.stream().map(expense -> expense.getId().toString()).toList().toString();
+
+        int status = mockMvc.perform(delete("/api/expense").contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(400);
+        assertThat(expenseService.getExpenseByUserId(UNNAMED_OWNER)).hasSize(3);
+
+        String deleted = mockMvc.perform(delete("/api/expense").param("userId", String.valueOf(OTHER_USER))
+                        .contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(deleted).isEqualTo("0");
+        assertThat(expenseService.getExpenseByUserId(UNNAMED_OWNER)).hasSize(3);
+    }
+}
@@ -0,0 +1,65 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Rows/second for a 100k-row upload: one identity-style round trip per row (the old
+// IDENTITY behaviour) against the chunked, JDBC-batched saveExpense path.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batchedUploadOutperformsRowByRowInserts() {
+        List<Expense> rows = TestRows.expenses(5001L, ROWS);
+
+        long started = System.nanoTime();
+        for (Expense expense : rows) {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "insert into expense_tracker (user_id, category, amount_minor, date, description) values (?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, expense.getUserId());
+                ps.setString(2, expense.getCategory());
+                ps.setLong(3, expense.getAmountMinor());
+                ps.setDate(4, Date.valueOf(expense.getDate()));
+                ps.setString(5, expense.getDescription());
+                return ps;
+            }, keys);
+        }
+        double rowByRow = ROWS / seconds(started);
+
+        started = System.nanoTime();
+        List<Expense> saved = expenseService.saveExpense(TestRows.expenses(5002L, ROWS));
+        double batched = ROWS / seconds(started);
+
+        assertEquals(ROWS, saved.size());
+        System.out.printf("row-by-row: %,.0f rows/s%nbatched:    %,.0f rows/s%n", rowByRow, batched);
+    }
+
+    private static double seconds(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+}
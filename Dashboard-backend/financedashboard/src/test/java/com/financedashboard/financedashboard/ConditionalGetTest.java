@@ -0,0 +1,109 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Test
+    void unchangedListsAreAnsweredWith304UntilTheNextWrite() throws Exception {
+        long userId = 7701L;
+        expenseService.saveExpense(TestRows.expenses(userId, 3));
+
+        MockHttpServletResponse first = fetch(userId, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+
+        MockHttpServletResponse unchanged = fetch(userId, etag);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(unchanged.getContentAsByteArray()).isEmpty();
+
+        expenseService.saveExpense(TestRows.expenses(userId, 1));
+        MockHttpServletResponse changed = fetch(userId, etag);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void eachEncodingHasItsOwnEtag() throws Exception {
+        long userId = 8601L;
+        expenseService.saveExpense(TestRows.expenses(userId, 2));
+
+        MockHttpServletResponse json = fetch(userId, null, MediaType.APPLICATION_JSON);
+        MockHttpServletResponse cbor = fetch(userId, json.getHeader(HttpHeaders.ETAG), MediaType.APPLICATION_CBOR);
+        assertThat(cbor.getStatus()).isEqualTo(200);
+        assertThat(cbor.getContentType()).startsWith(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(cbor.getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getHeader(HttpHeaders.ETAG));
+        assertThat(cbor.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        MockHttpServletResponse unchanged = fetch(userId, cbor.getHeader(HttpHeaders.ETAG), MediaType.APPLICATION_CBOR);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(unchanged.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    // Dashboard polling of an unchanged 5,000-row list, with and without If-None-Match.
+    // Run with: mvn test -Pbenchmark
+    @Tag("benchmark")
+    @Test
+    void pollingSavings() throws Exception {
+        long userId = 7702L;
+        int polls = 200;
+        expenseService.saveExpense(TestRows.expenses(userId, 5_000));
+        String etag = fetch(userId, null).getHeader(HttpHeaders.ETAG);
+
+        Poll full = poll(userId, null, polls);
+        Poll conditional = poll(userId, etag, polls);
+
+        System.out.printf("%-12s %14s %14s%n", "mode", "bytes/poll", "cpu ms/poll");
+        System.out.printf("%-12s %14d %14.3f%n", "full", full.bytes / polls, full.cpuMillis / polls);
+        System.out.printf("%-12s %14d %14.3f%n", "conditional", conditional.bytes / polls, conditional.cpuMillis / polls);
+        assertThat(conditional.bytes).isZero();
+    }
+
+    private Poll poll(long userId, String etag, int polls) throws Exception {
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long bytes = 0;
+        long cpuBefore = os.getProcessCpuTime();
+        for (int i = 0; i < polls; i++) {
+            bytes += fetch(userId, etag).getContentAsByteArray().length;
+        }
+        return new Poll(bytes, (os.getProcessCpuTime() - cpuBefore) / 1_000_000.0);
+    }
+
+    private MockHttpServletResponse fetch(long userId, String etag) throws Exception {
+        return fetch(userId, etag, MediaType.APPLICATION_JSON);
+    }
+
+    private MockHttpServletResponse fetch(long userId, String etag, MediaType accept) throws Exception {
+        var request = get("/api/expense/" + userId).accept(accept);
+        if (etag != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private record Poll(long bytes, double cpuMillis) {
+    }
+}
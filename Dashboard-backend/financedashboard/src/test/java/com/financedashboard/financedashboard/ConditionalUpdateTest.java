@@ -0,0 +1,161 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.GoalView;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Goal;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.GoalService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Counts the statements Hibernate prepares per edit. The rollup upserts go through
+// JdbcTemplate and are not part of these counts.
+@SpringBootTest
+class ConditionalUpdateTest {
+
+    private static final long USER_ID = 7201L;
+
+    @Autowired
+    private GoalService goalService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void versionedGoalUpdateIsOneStatementAndRejectsStaleVersions() {
+        Goal saved = goalService.saveGoal(goal(500.0, null));
+
+        statistics.clear();
+        Goal updated = goalService.updateGoal(saved.getId(), goal(650.0, saved.getVersion()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(updated.getVersion()).isEqualTo(saved.getVersion() + 1);
+
+        assertThatThrownBy(() -> goalService.updateGoal(saved.getId(), goal(700.0, saved.getVersion())))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(goalService.getGoalByUserId(USER_ID)).extracting(GoalView::amount).containsExactly(650.0);
+    }
+
+    // A versioned update naming another owner is a miss, not a conflict.
+    @Test
+    void versionedGoalUpdateByAnotherOwnerIsNotFound() {
+        Goal saved = goalService.saveGoal(goal(500.0, null));
+
+        Goal foreign = goal(900.0, saved.getVersion());
+        foreign.setUserId(USER_ID + 1);
+        assertThat(goalService.updateGoal(saved.getId(), foreign)).isNull();
+        assertThat(goalService.getGoalByUserId(USER_ID))
+                .filteredOn(view -> view.id().equals(saved.getId()))
+                .extracting(GoalView::amount).containsExactly(500.0);
+    }
+
+    @Test
+    void expenseEditsWriteOnlyWhenSomethingChanged() {
+        Expense saved = expenseService.saveExpense(
+                List.of(new Expense(USER_ID, "Food", 12.0, LocalDate.of(2024, 6, 1), "lunch"))).get(0);
+
+        statistics.clear();
+        Expense patch = new Expense();
+        patch.setAmount(14.0);
+        Expense patched = expenseService.patchExpense(saved.getId(), patch);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(patched.getDescription()).isEqualTo("lunch");
+        assertThat(patched.getVersion()).isEqualTo(saved.getVersion() + 1);
+
+        statistics.clear();
+        expenseService.patchExpense(saved.getId(), patch);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Expense stale = new Expense(USER_ID, "Food", 20.0, LocalDate.of(2024, 6, 1), "lunch");
+        stale.setVersion(saved.getVersion());
+        assertThatThrownBy(() -> expenseService.updateExpense(saved.getId(), stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    // Writers race on a few goals, each retrying with the version it last read; reports the
+    // statements per attempt and how many attempts lost the race.
+    // Run with: mvn test -Pbenchmark
+    @Tag("benchmark")
+    @Test
+    void statementsPerUpdateUnderConcurrentEdits() throws Exception {
+        int goals = 2;
+        int writers = 8;
+        int editsPerWriter = 250;
+        List<Goal> saved = new ArrayList<>();
+        for (int i = 0; i < goals; i++) {
+            saved.add(goalService.saveGoal(goal(100.0 + i, null)));
+        }
+
+        AtomicLong attempts = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        statistics.clear();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> done = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            done.add(pool.submit(() -> {
+                Goal mine = saved.get(writer % goals);
+                long version = mine.getVersion();
+                for (int i = 0; i < editsPerWriter; i++) {
+                    attempts.incrementAndGet();
+                    try {
+                        version = goalService.updateGoal(mine.getId(), goal(200.0 + i, version)).getVersion();
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                        version = goalService.getGoalByUserId(USER_ID).stream()
+                                .filter(g -> g.id().equals(mine.getId())).findFirst().orElseThrow().version();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get();
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        System.out.printf("attempts: %d, conflicts: %d, statements/attempt: %.2f%n",
+                attempts.get(), conflicts.get(), (double) statistics.getPrepareStatementCount() / attempts.get());
+        assertThat(attempts.get()).isEqualTo((long) writers * editsPerWriter);
+    }
+
+    private static Goal goal(Double amount, Long version) {
+        Goal goal = new Goal(USER_ID, "Savings", amount, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), "house", "Savings");
+        goal.setVersion(version);
+        return goal;
+    }
+}
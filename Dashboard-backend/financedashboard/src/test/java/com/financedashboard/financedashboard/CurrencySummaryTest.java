@@ -0,0 +1,141 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.GoalProgress;
+import com.financedashboard.dto.SummaryBucket;
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.dto.SummaryResponse;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Goal;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.FxRateService;
+import com.financedashboard.service.GoalService;
+import com.financedashboard.service.SummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+// Rates are INR-based (the default base); 2024-01-02 has no quote and uses the 2024-01-01 one.
+@SpringBootTest
+class CurrencySummaryTest {
+
+    private static final long USER_ID = 7801L;
+    private static final long GOAL_USER_ID = 8602L;
+    private static final long MINOR_UNITS_USER_ID = 8603L;
+    private static final long EDIT_USER_ID = 8604L;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+    private static final String RATES = """
+            date,currency,rate
+            2024-01-01,USD,0.012
+            2024-01-04,USD,0.0125
+            """;
+
+    @Autowired
+    private FxRateService fxRateService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private SummaryService summaryService;
+    @Autowired
+    private GoalService goalService;
+
+    @Test
+    void rowsAreConvertedAtTheirDaysRate() throws Exception {
+        assertThat(fxRateService.loadRates(new ByteArrayInputStream(RATES.getBytes(StandardCharsets.UTF_8)))).isEqualTo(2);
+        expenseService.saveExpense(List.of(
+                expense("Food", 10.0, "USD", LocalDate.of(2024, 1, 2)),
+                expense("Food", 100.0, null, LocalDate.of(2024, 1, 2)),
+                expense("Travel", 5.0, "usd", LocalDate.of(2024, 1, 5))));
+
+        SummaryResponse inr = summaryService.getSummary(USER_ID, FROM, TO, SummaryGrouping.CATEGORY, "INR");
+        assertThat(inr.currency()).isEqualTo("INR");
+        assertThat(inr.expense()).extracting(SummaryBucket::key, SummaryBucket::total, SummaryBucket::count)
+                .containsExactly(tuple("Food", 933.33, 2L),
+                        tuple("Travel", 400.0, 1L));
+        assertThat(inr.totalExpense()).isEqualTo(1333.33);
+        assertThat(summaryService.getSummary(USER_ID, FROM, TO, SummaryGrouping.CATEGORY)).isEqualTo(inr);
+
+        SummaryResponse usd = summaryService.getSummary(USER_ID, FROM, TO, SummaryGrouping.MONTH, "USD");
+        assertThat(usd.expense()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.key()).isEqualTo("2024-01");
+            assertThat(bucket.total()).isEqualTo(16.2);
+        });
+
+        assertThatThrownBy(() -> summaryService.getSummary(USER_ID, FROM, TO, SummaryGrouping.CATEGORY, "EUR"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Goals are measured in their own currency, or the default one; rows in another are converted.
+    @Test
+    void goalProgressConvertsIntoTheGoalsCurrency() throws Exception {
+        fxRateService.loadRates(new ByteArrayInputStream(RATES.getBytes(StandardCharsets.UTF_8)));
+        expenseService.saveExpense(List.of(
+                expense(GOAL_USER_ID, "Food", 10.0, "USD", LocalDate.of(2024, 1, 2)),
+                expense(GOAL_USER_ID, "Food", 100.0, null, LocalDate.of(2024, 1, 2))));
+        Goal inr = goalService.saveGoal(new Goal(GOAL_USER_ID, "Food", 2000.0, FROM, TO, "inr budget", "budget"));
+        Goal usd = new Goal(GOAL_USER_ID, "Food", 20.0, FROM, TO, "usd budget", "budget");
+        usd.setCurrency("USD");
+        usd = goalService.saveGoal(usd);
+
+        assertThat(goalService.getGoalProgress(GOAL_USER_ID))
+                .extracting(GoalProgress::goalId, GoalProgress::currency, GoalProgress::progress)
+                .containsExactlyInAnyOrder(tuple(inr.getId(), "INR", 933.33),
+                        tuple(usd.getId(), "USD", 11.2));
+    }
+
+    // Yen have no minor unit and dinars three digits, so neither is stored or converted in hundredths.
+    @Test
+    void amountsUseEachCurrencysMinorUnit() throws Exception {
+        fxRateService.loadRates(new ByteArrayInputStream("""
+                date,currency,rate
+                2024-01-01,JPY,1.8
+                2024-01-01,KWD,0.0037
+                """.getBytes(StandardCharsets.UTF_8)));
+        List<Expense> saved = expenseService.saveExpense(List.of(
+                expense(MINOR_UNITS_USER_ID, "Food", 1000.4, "JPY", LocalDate.of(2024, 1, 2)),
+                expense(MINOR_UNITS_USER_ID, "Food", 1.234, "KWD", LocalDate.of(2024, 1, 2))));
+        assertThat(saved).extracting(Expense::getAmountMinor, Expense::getAmount)
+                .containsExactly(tuple(1000L, 1000.0), tuple(1234L, 1.234));
+
+        SummaryResponse yen = summaryService.getSummary(MINOR_UNITS_USER_ID, FROM, TO, SummaryGrouping.CATEGORY, "JPY");
+        assertThat(yen.totalExpense()).isEqualTo(1600.0);
+        SummaryResponse dinars = summaryService.getSummary(MINOR_UNITS_USER_ID, FROM, TO, SummaryGrouping.CATEGORY, "KWD");
+        assertThat(dinars.totalExpense()).isEqualTo(3.29);
+    }
+
+    // An edit without a currency keeps the row's, and the new amount is rounded to its minor unit
+    // without writing that currency back into the request.
+    @Test
+    void editsUseTheRowsCurrencyWithoutTouchingTheRequest() {
+        Expense saved = expenseService.saveExpense(List.of(
+                expense(EDIT_USER_ID, "Food", 1.0, "KWD", LocalDate.of(2024, 1, 2)))).get(0);
+
+        Expense patch = new Expense();
+        patch.setAmount(2.345);
+        Expense patched = expenseService.patchExpense(saved.getId(), patch);
+
+        assertThat(patched.getCurrency()).isEqualTo("KWD");
+        assertThat(patched.getAmountMinor()).isEqualTo(2345L);
+        assertThat(patch.getCurrency()).isNull();
+        assertThat(patch.getAmountMinor()).isEqualTo(235L);
+    }
+
+    private static Expense expense(String category, double amount, String currency, LocalDate date) {
+        return expense(USER_ID, category, amount, currency, date);
+    }
+
+    private static Expense expense(long userId, String category, double amount, String currency, LocalDate date) {
+        Expense expense = new Expense(userId, category, amount, date, category);
+        expense.setCurrency(currency);
+        return expense;
+    }
+}
@@ -0,0 +1,115 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Goal;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.GoalService;
+import com.financedashboard.service.IncomeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Page-load latency over real HTTP: the four requests the dashboard sends today (issued
+// concurrently, as the browser does) against the single /api/dashboard request.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardLoadBenchmarkTest {
+
+    private static final long USER_ID = 7601L;
+    private static final int ROWS = 2_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private IncomeService incomeService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private GoalService goalService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)",
+                USER_ID, "Load Test", "dashboard-load@example.com", "secret");
+        List<Income> incomes = new ArrayList<>(ROWS);
+        List<Expense> expenses = new ArrayList<>(ROWS);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            incomes.add(new Income(USER_ID, "salary", 1000.0 + i, start.plusDays(i % 365), "income " + i));
+            expenses.add(new Expense(USER_ID, "cat" + (i % 8), 10.0 + i % 90, start.plusDays(i % 365), "expense " + i));
+        }
+        incomeService.saveIncome(incomes);
+        expenseService.saveExpense(expenses);
+        for (int i = 0; i < 20; i++) {
+            goalService.saveGoal(new Goal(USER_ID, "cat" + (i % 8), 500.0, start, start.plusMonths(6), "goal " + i, "Budget"));
+        }
+    }
+
+    @Test
+    void compositeEndpointAgainstFanOut() {
+        List<URI> fanOut = List.of(uri("/api/users/" + USER_ID), uri("/api/income/" + USER_ID),
+                uri("/api/expense/" + USER_ID), uri("/api/goal/" + USER_ID));
+        List<URI> composite = List.of(uri("/api/dashboard/" + USER_ID));
+
+        double[] fanOutMillis = measure(fanOut);
+        double[] compositeMillis = measure(composite);
+
+        System.out.printf("%-10s %10s %10s%n", "path", "avg ms", "p95 ms");
+        System.out.printf("%-10s %10.2f %10.2f%n", "fan-out", fanOutMillis[0], fanOutMillis[1]);
+        System.out.printf("%-10s %10.2f %10.2f%n", "composite", compositeMillis[0], compositeMillis[1]);
+        assertThat(compositeMillis[0]).isPositive();
+    }
+
+    // Returns {average, p95} for loading the page through the given requests.
+    private double[] measure(List<URI> page) {
+        for (int i = 0; i < WARMUP; i++) {
+            load(page);
+        }
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            load(page);
+            samples[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return new double[] {Arrays.stream(samples).average().orElse(0), samples[(int) Math.ceil(ITERATIONS * 0.95) - 1]};
+    }
+
+    private void load(List<URI> page) {
+        CompletableFuture<?>[] responses = page.stream()
+                .map(uri -> http.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray())
+                        .thenAccept(response -> assertThat(response.statusCode()).isEqualTo(200)))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(responses).join();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,112 @@
+package com.financedashboard.financedashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Goal;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.GoalService;
+import com.financedashboard.service.IncomeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// The sections are loaded concurrently; each must still match what its own endpoint returns.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardTest {
+
+    private static final long USER_ID = 8901L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private IncomeService incomeService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private GoalService goalService;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)",
+                USER_ID, "Dashboard User", "dashboard@example.com", "secret");
+        incomeService.saveIncome(List.of(new Income(USER_ID, "Salary", 5000.0, LocalDate.of(2024, 2, 1), "february")));
+        expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Food", 12.5, LocalDate.of(2024, 2, 3), "lunch"),
+                new Expense(USER_ID, "Rent", 900.0, LocalDate.of(2024, 2, 5), "rent")));
+        goalService.saveGoal(new Goal(USER_ID, "Food", 300.0, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29),
+                "food budget", "budget"));
+    }
+
+    @Test
+    void everySectionMatchesItsOwnEndpoint() throws Exception {
+        JsonNode dashboard = json("/api/dashboard/{userId}");
+
+        assertThat(dashboard.get("userId").asLong()).isEqualTo(USER_ID);
+        assertThat(dashboard.get("user").get("email").asText()).isEqualTo("dashboard@example.com");
+        assertThat(dashboard.get("income")).isEqualTo(json("/api/income/{userId}")).hasSize(1);
+        assertThat(dashboard.get("expense")).isEqualTo(json("/api/expense/{userId}")).hasSize(2);
+        assertThat(dashboard.get("goals")).isEqualTo(json("/api/goal/{userId}")).hasSize(1);
+    }
+
+    @Test
+    void fieldsSelectSections() throws Exception {
+        JsonNode dashboard = json("/api/dashboard/{userId}?fields=income,goals");
+        assertThat(dashboard.has("user")).isFalse();
+        assertThat(dashboard.has("expense")).isFalse();
+        assertThat(dashboard.get("income")).hasSize(1);
+        assertThat(dashboard.get("goals")).hasSize(1);
+
+        int status = mockMvc.perform(get("/api/dashboard/{userId}?fields=balance", USER_ID)).andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(400);
+    }
+
+    // More concurrent dashboards than pool threads and queue slots: the overflow runs on the
+    // request threads and every response is still complete.
+    @Test
+    void aSaturatedPoolStillAnswersEveryRequest() throws Exception {
+        JsonNode expected = json("/api/dashboard/{userId}");
+        List<Thread> requests = new ArrayList<>();
+        List<JsonNode> responses = Collections.synchronizedList(new ArrayList<>());
+        for (int r = 0; r < 40; r++) {
+            requests.add(Thread.ofVirtual().start(() -> {
+                try {
+                    responses.add(json("/api/dashboard/{userId}"));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        for (Thread request : requests) {
+            request.join();
+        }
+        assertThat(responses).hasSize(40).allSatisfy(response -> assertThat(response).isEqualTo(expected));
+    }
+
+    private JsonNode json(String path) throws Exception {
+        String body = mockMvc.perform(get(path, USER_ID).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
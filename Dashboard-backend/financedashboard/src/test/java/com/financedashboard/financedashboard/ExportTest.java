@@ -0,0 +1,158 @@
+package com.financedashboard.financedashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedashboard.dto.ExportFormat;
+import com.financedashboard.dto.ExportRow;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.ExportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportTest {
+
+    private static final long USER_ID = 8701L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private List<Expense> saved;
+
+    @BeforeAll
+    void saveRows() {
+        saved = expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Food", 12.5, LocalDate.of(2024, 1, 5), "lunch"),
+                new Expense(USER_ID, "Misc", 3.0, null, "undated")));
+    }
+
+    @Test
+    void fullExportsIncludeUndatedRowsLast() throws Exception {
+        String body = export(get("/api/users/{id}/export", USER_ID)).getContentAsString();
+        assertThat(body.lines()).containsExactly(ExportRow.CSV_HEADER,
+                "expense," + saved.get(0).getId() + ",Food,12.5,INR,2024-01-05,,,lunch",
+                "expense," + saved.get(1).getId() + ",Misc,3.0,INR,,,,undated");
+
+        String bounded = export(get("/api/users/{id}/export", USER_ID).param("from", "2024-01-01").param("to", "2024-01-31"))
+                .getContentAsString();
+        assertThat(bounded.lines()).hasSize(2).noneMatch(line -> line.endsWith("undated"));
+    }
+
+    @Test
+    void gzipIsOnlyUsedWhenAcceptedWithPositiveQuality() throws Exception {
+        assertThat(contentEncoding("gzip, deflate")).isEqualTo("gzip");
+        assertThat(contentEncoding("br;q=1.0, gzip;q=0.5")).isEqualTo("gzip");
+        assertThat(contentEncoding("*")).isEqualTo("gzip");
+        assertThat(contentEncoding("gzip;q=0")).isNull();
+        assertThat(contentEncoding("gzip;q=0, *;q=1")).isNull();
+        assertThat(contentEncoding("identity")).isNull();
+        assertThat(contentEncoding(null)).isNull();
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerRow() throws Exception {
+        MockHttpServletResponse response = export(get("/api/users/{id}/export", USER_ID).param("format", "ndjson"));
+        assertThat(response.getContentType()).isEqualTo("application/x-ndjson");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("export-" + USER_ID + ".ndjson");
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : response.getContentAsString().lines().toList()) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).extracting(row -> row.get("kind").asText(), row -> row.get("amount").asDouble(), row -> row.path("date").asText(null))
+                .containsExactly(tuple("expense", 12.5, "2024-01-05"), tuple("expense", 3.0, null));
+    }
+
+    // Transparent compression and a .gz download carry the same bytes as the plain export.
+    @Test
+    void compressedExportsHoldThePlainBody() throws Exception {
+        byte[] plain = export(get("/api/users/{id}/export", USER_ID)).getContentAsByteArray();
+
+        MockHttpServletResponse encoded = export(get("/api/users/{id}/export", USER_ID).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertThat(encoded.getContentType()).startsWith("text/csv");
+        assertThat(gunzip(encoded.getContentAsByteArray())).isEqualTo(plain);
+
+        MockHttpServletResponse download = export(get("/api/users/{id}/export", USER_ID).param("gzip", "true")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertThat(download.getContentType()).isEqualTo("application/gzip");
+        assertThat(download.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(download.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains(".csv.gz");
+        assertThat(gunzip(download.getContentAsByteArray())).isEqualTo(plain);
+    }
+
+    // The body is written by a StreamingResponseBody in buffer-sized chunks, not built up front.
+    @Test
+    void largeExportsAreStreamed() throws Exception {
+        long userId = USER_ID + 1;
+        expenseService.saveExpense(TestRows.expenses(userId, 3_000));
+
+        MvcResult started = mockMvc.perform(get("/api/users/{id}/export", userId)).andReturn();
+        assertThat(started.getRequest().isAsyncStarted()).isTrue();
+        assertThat(started.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+
+        AtomicInteger writes = new AtomicInteger();
+        ByteArrayOutputStream body = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                writes.incrementAndGet();
+                super.write(b, off, len);
+            }
+        };
+        exportService.exportUserData(userId, null, null, ExportFormat.CSV, body);
+        assertThat(body.toString(StandardCharsets.UTF_8).lines()).hasSize(3_001);
+        assertThat(writes.get()).isGreaterThan(1);
+    }
+
+    private String contentEncoding(String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/users/{id}/export", USER_ID);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = export(request);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        return response.getHeader(HttpHeaders.CONTENT_ENCODING);
+    }
+
+    private MockHttpServletResponse export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
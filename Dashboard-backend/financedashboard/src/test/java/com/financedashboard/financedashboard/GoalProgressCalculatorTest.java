@@ -0,0 +1,93 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.service.impl.GoalProgressCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The sweep must agree with summing each goal's window on its own, for any mix of windows.
+class GoalProgressCalculatorTest {
+
+    private static final int CATEGORIES = 4;
+    private static final int DAYS = 60;
+
+    @Test
+    void sweepMatchesPerGoalSums() {
+        for (long seed = 1; seed <= 200; seed++) {
+            Random random = new Random(seed);
+            Transactions expenses = transactions(random, 1 + random.nextInt(80));
+            Transactions incomes = transactions(random, random.nextInt(40));
+            int goals = 1 + random.nextInt(20);
+            long[] start = new long[goals];
+            long[] end = new long[goals];
+            int[] category = new int[goals];
+            for (int g = 0; g < goals; g++) {
+                // Windows may lie before, after or across the data, be a single day, or be empty.
+                start[g] = random.nextInt(DAYS + 20) - 10;
+                end[g] = start[g] + random.nextInt(DAYS) - 5;
+                category[g] = random.nextInt(CATEGORIES + 2) - 1;
+            }
+
+            long[] swept = GoalProgressCalculator.progress(start, end, category,
+                    expenses.days, expenses.categories, expenses.amounts, expenses.days.length,
+                    incomes.days, incomes.amounts, incomes.days.length, CATEGORIES);
+
+            long[] expected = new long[goals];
+            for (int g = 0; g < goals; g++) {
+                expected[g] = end[g] < start[g] ? 0 : direct(start[g], end[g], category[g], expenses, incomes);
+            }
+            assertThat(swept).as("seed %d", seed).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void windowBoundsAreInclusive() {
+        long[] days = {10, 20, 30};
+        long[] amounts = {100, 200, 400};
+        long[] progress = GoalProgressCalculator.progress(new long[]{10, 20, 11}, new long[]{30, 20, 29}, new int[]{0, 0, 0},
+                days, new int[]{0, 0, 0}, amounts, 3, new long[0], new long[0], 0, 1);
+        assertThat(progress).containsExactly(700, 200, 200);
+    }
+
+    private static long direct(long start, long end, int category, Transactions expenses, Transactions incomes) {
+        long spent = 0;
+        long spentInCategory = 0;
+        for (int x = 0; x < expenses.days.length; x++) {
+            if (expenses.days[x] >= start && expenses.days[x] <= end) {
+                spent += expenses.amounts[x];
+                if (expenses.categories[x] == category) {
+                    spentInCategory += expenses.amounts[x];
+                }
+            }
+        }
+        if (category != GoalProgressCalculator.SAVINGS) {
+            return spentInCategory;
+        }
+        long earned = 0;
+        for (int i = 0; i < incomes.days.length; i++) {
+            if (incomes.days[i] >= start && incomes.days[i] <= end) {
+                earned += incomes.amounts[i];
+            }
+        }
+        return earned - spent;
+    }
+
+    private static Transactions transactions(Random random, int count) {
+        long[] days = new long[count];
+        int[] categories = new int[count];
+        long[] amounts = new long[count];
+        for (int t = 0; t < count; t++) {
+            days[t] = random.nextInt(DAYS);
+            categories[t] = random.nextInt(CATEGORIES);
+            amounts[t] = 1 + random.nextInt(100_000);
+        }
+        // Only the days need sorting: categories and amounts are random anyway.
+        Arrays.sort(days);
+        return new Transactions(days, categories, amounts);
+    }
+
+    private record Transactions(long[] days, int[] categories, long[] amounts) {}
+}
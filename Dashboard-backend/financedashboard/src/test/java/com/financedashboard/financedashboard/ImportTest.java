@@ -0,0 +1,133 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.ImportBatch;
+import com.financedashboard.dto.ImportFormat;
+import com.financedashboard.dto.ImportResult;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.ImportService;
+import com.financedashboard.service.IncomeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Batches of two rows, so a handful of records spans several batches.
+@SpringBootTest(properties = "financedashboard.import.chunk-size=2")
+class ImportTest {
+
+    private static final long NDJSON_USER = 8501L;
+    private static final long ARRAY_USER = 8502L;
+    private static final long CSV_USER = 8503L;
+    private static final long MALFORMED_USER = 8504L;
+    private static final long MULTILINE_USER = 8505L;
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IncomeService incomeService;
+
+    @Test
+    void importsNewlineDelimitedJson() throws IOException {
+        ImportResult result = importService.importExpenses(body("""
+                {"userId":8501,"category":"Food","amount":12.5,"date":"2024-03-01","description":"lunch"}
+                {"userId":8501,"category":"Food","amount":8.0,"date":"2024-03-02"}
+                {"userId":8501,"category":"Travel","amount":40.0,"date":"2024-03-03","currency":"INR"}
+                """), ImportFormat.NDJSON);
+
+        assertThat(result.accepted()).isEqualTo(3);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.batches()).containsExactly(new ImportBatch(1, 2, 0), new ImportBatch(2, 1, 0));
+        assertThat(expenseService.getExpenseByUserId(NDJSON_USER)).hasSize(3);
+    }
+
+    @Test
+    void importsAJsonArray() throws IOException {
+        ImportResult result = importService.importIncome(body("""
+                [
+                  {"userId":8502,"category":"Salary","amount":5000.0,"date":"2024-03-01"},
+                  {"userId":8502,"category":"Bonus","amount":750.0,"date":"2024-03-15"},
+                  {"userId":8502,"category":"Interest","amount":12.25,"date":"2024-03-31"}
+                ]
+                """), ImportFormat.JSON);
+
+        assertThat(result.accepted()).isEqualTo(3);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.errors()).isEmpty();
+        assertThat(incomeService.getIncomeByUserId(ARRAY_USER)).hasSize(3);
+
+        assertThat(importService.importIncome(body("[]"), ImportFormat.JSON).accepted()).isZero();
+    }
+
+    @Test
+    void importsCsvAndRejectsInvalidRows() throws IOException {
+        ImportResult result = importService.importExpenses(body("""
+                userId,category,amount,date,description
+                8503,Food,12.50,2024-03-01,"lunch, with ""friends\"""
+                8503,Food,not-a-number,2024-03-02,coffee
+
+                8503,Travel,40,2024-03-03,train
+                """), ImportFormat.CSV);
+
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().asString().startsWith("record 2: ");
+        assertThat(result.batches()).containsExactly(new ImportBatch(1, 2, 1));
+        assertThat(expenseService.getExpenseByUserId(CSV_USER))
+                .extracting(ExpenseView::description)
+                .contains("lunch, with \"friends\"", "train");
+    }
+
+    // Exports quote descriptions with line breaks, so a record may run over several lines.
+    @Test
+    void csvQuotedFieldsMaySpanLines() throws IOException {
+        ImportResult result = importService.importExpenses(body("""
+                userId,category,amount,date,description
+                8505,Food,12.50,2024-03-01,"first line
+                second, ""quoted"" line"
+                8505,Food,oops,2024-03-02,coffee
+                8505,Travel,40,2024-03-03,train
+                """), ImportFormat.CSV);
+
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.errors()).singleElement().asString().startsWith("record 2: ");
+        assertThat(expenseService.getExpenseByUserId(MULTILINE_USER))
+                .extracting(ExpenseView::description)
+                .containsExactlyInAnyOrder("first line\nsecond, \"quoted\" line", "train");
+    }
+
+    // A record that does not map is rejected and reading goes on; broken JSON syntax stops the import
+    // after the rows read so far are saved.
+    @Test
+    void malformedRecordsMidStream() throws IOException {
+        ImportResult result = importService.importExpenses(body("""
+                {"userId":8504,"category":"Food","amount":12.5,"date":"2024-03-01"}
+                {"userId":"not-a-user","category":"Food","amount":8.0,"date":"2024-03-02"}
+                {"userId":8504,"category":"Food","amount":-3.0,"date":"2024-03-03"}
+                {"userId":8504,"category":"Rent","amount":900.0,"date":"2024-03-04"}
+                {"userId":8504,"category" "Food","amount":1.0,"date":"2024-03-05"}
+                {"userId":8504,"category":"Food","amount":1.0,"date":"2024-03-05"}
+                """), ImportFormat.NDJSON);
+
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.errors()).hasSize(3);
+        assertThat(result.errors().get(0)).startsWith("record 2: ");
+        assertThat(result.errors().get(1)).isEqualTo("record 3: amount must be a non-negative number");
+        assertThat(result.errors().get(2)).startsWith("record 5: malformed JSON, import stopped");
+        assertThat(result.batches()).containsExactly(new ImportBatch(1, 2, 2), new ImportBatch(2, 0, 1));
+        assertThat(expenseService.getExpenseByUserId(MALFORMED_USER)).hasSize(2);
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
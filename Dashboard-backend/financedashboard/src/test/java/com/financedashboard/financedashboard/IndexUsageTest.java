@@ -0,0 +1,71 @@
+package com.financedashboard.financedashboard;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs EXPLAIN on the hot per-user queries against the Flyway-migrated schema.
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            rows.add(new Object[]{(long) (i % 100), "cat" + (i % 10), 1_000L, LocalDate.of(2024, 1, 1).plusDays(i % 365)});
+        }
+        for (String table : List.of("expense_tracker", "income_tracker")) {
+            jdbcTemplate.batchUpdate("insert into " + table + " (user_id, category, amount_minor, date) values (?, ?, ?, ?)", rows);
+        }
+        List<Object[]> goals = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            goals.add(new Object[]{(long) (i % 100), "cat" + (i % 10), 10_000L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)});
+            users.add(new Object[]{900_000L + i, "user" + i + "@example.com", "user" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into goals_tracker (user_id, category, amount_minor, start_date, end_date) values (?, ?, ?, ?, ?)", goals);
+        jdbcTemplate.batchUpdate("insert into users (id, email, name) values (?, ?, ?)", users);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void userLookupsUseUserDateIndex() {
+        assertThat(plan("select * from expense_tracker where user_id = 7")).contains("idx_expense_tracker_user_date");
+        assertThat(plan("select * from income_tracker where user_id = 7")).contains("idx_income_tracker_user_date");
+        assertThat(plan("select * from expense_tracker where user_id = 7 and date between date '2024-01-01' and date '2024-03-31'"))
+                .contains("idx_expense_tracker_user_date");
+    }
+
+    @Test
+    void categoryFiltersUseUserCategoryDateIndex() {
+        assertThat(plan("select * from expense_tracker where user_id = 7 and category = 'cat3' and date >= date '2024-02-01'"))
+                .contains("idx_expense_tracker_user_category_date");
+        assertThat(plan("select * from income_tracker where user_id = 7 and category = 'cat3' and date >= date '2024-02-01'"))
+                .contains("idx_income_tracker_user_category_date");
+    }
+
+    @Test
+    void goalAndEmailLookupsUseIndexes() {
+        assertThat(plan("select * from goals_tracker where user_id = 7")).contains("idx_goals_tracker_user_start_date");
+        assertThat(plan("select * from users where email = 'someone@example.com'")).contains("uq_users_email");
+    }
+
+    private String plan(String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class)).toLowerCase();
+        assertThat(plan).doesNotContain("tablescan");
+        return plan;
+    }
+}
@@ -0,0 +1,103 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Six rows, three of them on one day, so pages of two end between rows sharing a date.
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class KeysetPaginationTest {
+
+    private static final long USER_ID = 8801L;
+    private static final LocalDate SHARED_DAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private ExpenseService expenseService;
+    private List<Long> idsInOrder;
+
+    @BeforeAll
+    void saveRows() {
+        List<Expense> saved = expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Food", 1.0, LocalDate.of(2024, 3, 12), "e"),
+                new Expense(USER_ID, "Food", 2.0, SHARED_DAY, "b"),
+                new Expense(USER_ID, "Travel", 3.0, SHARED_DAY, "c"),
+                new Expense(USER_ID, "Food", 4.0, LocalDate.of(2024, 3, 1), "a"),
+                new Expense(USER_ID, "Travel", 5.0, SHARED_DAY, "d"),
+                new Expense(USER_ID, "Food", 6.0, LocalDate.of(2024, 4, 2), "f")));
+        idsInOrder = saved.stream()
+                .sorted(Comparator.comparing(Expense::getDate).thenComparing(Expense::getId))
+                .map(Expense::getId)
+                .toList();
+    }
+
+    @Test
+    void cursorsWalkEveryRowOnceInDateAndIdOrder() {
+        List<CursorPage<ExpenseView>> pages = walk(null, null, null, 2);
+
+        assertThat(pages).hasSize(3);
+        assertThat(pages).extracting(page -> page.items().size()).containsExactly(2, 2, 2);
+        assertThat(pages.subList(0, 2)).allSatisfy(page -> {
+            assertThat(page.hasNext()).isTrue();
+            assertThat(page.nextCursor()).isNotNull();
+        });
+        CursorPage<ExpenseView> last = pages.get(2);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+        assertThat(ids(pages)).containsExactlyElementsOf(idsInOrder);
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        List<CursorPage<ExpenseView>> travel = walk(null, null, "Travel", 1);
+        assertThat(travel).hasSize(2);
+        assertThat(travel).flatExtracting(CursorPage::items)
+                .allSatisfy(view -> assertThat(view.category()).isEqualTo("Travel"));
+
+        List<CursorPage<ExpenseView>> march = walk(SHARED_DAY, LocalDate.of(2024, 3, 31), null, 2);
+        assertThat(ids(march)).containsExactlyElementsOf(idsInOrder.subList(1, 5));
+    }
+
+    @Test
+    void aShortFinalPageHasNoCursor() {
+        CursorPage<ExpenseView> page = expenseService.getExpensePage(USER_ID, null, null, null, null, 10);
+        assertThat(page.items()).hasSize(6);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> expenseService.getExpensePage(USER_ID, null, null, null, "not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<CursorPage<ExpenseView>> walk(LocalDate from, LocalDate to, String category, int size) {
+        List<CursorPage<ExpenseView>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ExpenseView> page = expenseService.getExpensePage(USER_ID, from, to, category, cursor, size);
+            pages.add(page);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static List<Long> ids(List<CursorPage<ExpenseView>> pages) {
+        return pages.stream().flatMap(page -> page.items().stream()).map(ExpenseView::id).toList();
+    }
+}
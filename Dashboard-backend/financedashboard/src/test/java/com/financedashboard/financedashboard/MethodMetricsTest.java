@@ -0,0 +1,58 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MethodMetricsTest {
+
+    private static final long USER_ID = 8301L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Test
+    void servicesRepositoriesAndPayloadsAreExportedToPrometheus() throws Exception {
+        expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Food", 12.5, LocalDate.of(2024, 3, 1), "lunch"),
+                new Expense(USER_ID, "Food", 8.0, LocalDate.of(2024, 3, 2), "coffee"),
+                new Expense(USER_ID, "Travel", 40.0, LocalDate.of(2024, 3, 3), "train")));
+        mockMvc.perform(get("/api/expense/" + USER_ID + "/page")).andExpect(status().isOk());
+
+        List<String> scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()
+                .lines().toList();
+
+        assertThat(scrape).anySatisfy(line -> assertThat(line)
+                .startsWith("financedashboard_service_seconds_count{")
+                .contains("class=\"ExpenseServiceImpl\"", "method=\"getExpensePage\"", "exception=\"none\""));
+        assertThat(scrape).anySatisfy(line -> assertThat(line)
+                .startsWith("financedashboard_repository_seconds_count{")
+                .contains("class=\"ExpenseRepository\"", "method=\"findPageAfter\""));
+        assertThat(scrape).anySatisfy(line -> assertThat(line)
+                .startsWith("financedashboard_repository_rows_sum{")
+                .contains("class=\"ExpenseRepository\"", "method=\"findPageAfter\"")
+                .endsWith(" 3.0"));
+        assertThat(scrape).anySatisfy(line -> assertThat(line)
+                .startsWith("financedashboard_http_response_size_bytes_count{")
+                .contains("uri=\"/api/expense/{userId}/page\""));
+    }
+}
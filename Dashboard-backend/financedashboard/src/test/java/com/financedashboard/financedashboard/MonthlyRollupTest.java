@@ -0,0 +1,69 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.SummaryGrouping;
+import com.financedashboard.dto.SummaryResponse;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.RollupService;
+import com.financedashboard.service.SummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Whole-month summaries are served from the rollup and partial ranges from the tracker
+// tables; after every kind of write both must agree.
+@SpringBootTest
+class MonthlyRollupTest {
+
+    private static final long USER_ID = 7101L;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private SummaryService summaryService;
+    @Autowired
+    private RollupService rollupService;
+
+    @Test
+    void rollupTracksSavesUpdatesAndDeletes() {
+        List<Expense> saved = expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Food", 10.0, LocalDate.of(2024, 1, 5), "a"),
+                new Expense(USER_ID, "Food", 20.0, LocalDate.of(2024, 1, 20), "b"),
+                new Expense(USER_ID, "Rent", 500.0, LocalDate.of(2024, 2, 1), "c"),
+                new Expense(USER_ID, "Travel", 75.0, LocalDate.of(2024, 3, 9), "d")));
+        assertRollupMatchesTables();
+
+        expenseService.updateExpense(saved.get(0).getId(),
+                new Expense(USER_ID, "Travel", 15.0, LocalDate.of(2024, 3, 1), "moved"));
+        assertRollupMatchesTables();
+
+        expenseService.deleteExpense(saved.get(2).getId());
+        expenseService.deleteAllExpenses(USER_ID, List.of(saved.get(1).getId()));
+        assertRollupMatchesTables();
+
+        rollupService.rebuildUser(USER_ID);
+        assertRollupMatchesTables();
+
+        SummaryResponse byMonth = summaryService.getSummary(USER_ID, FROM, TO, SummaryGrouping.MONTH);
+        assertThat(byMonth.expense()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.key()).isEqualTo("2024-03");
+            assertThat(bucket.total()).isEqualTo(90.0);
+            assertThat(bucket.count()).isEqualTo(2);
+        });
+    }
+
+    private void assertRollupMatchesTables() {
+        for (SummaryGrouping grouping : List.of(SummaryGrouping.CATEGORY, SummaryGrouping.MONTH)) {
+            SummaryResponse fromRollup = summaryService.getSummary(USER_ID, FROM, TO, grouping);
+            SummaryResponse fromTables = summaryService.getSummary(USER_ID, FROM, TO.minusDays(1), grouping);
+            assertThat(fromRollup.expense()).isEqualTo(fromTables.expense());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.dto.IncomeView;
+import com.financedashboard.dto.RecurringRunResult;
+import com.financedashboard.entities.RecurrenceFrequency;
+import com.financedashboard.entities.RecurringRule;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.RecurringRuleService;
+import com.financedashboard.service.impl.RecurringMaterializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecurringRuleTest {
+
+    private static final long USER_ID = 7901L;
+
+    @Autowired
+    private RecurringRuleService recurringRuleService;
+    @Autowired
+    private RecurringMaterializer materializer;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IncomeService incomeService;
+
+    @Test
+    void dueOccurrencesAreWrittenOncePerPeriod() {
+        RecurringRule rent = new RecurringRule(USER_ID, "expense", "Rent", 1000.0, RecurrenceFrequency.MONTHLY,
+                LocalDate.of(2024, 1, 31), "rent");
+        rent.setEndDate(LocalDate.of(2024, 4, 30));
+        RecurringRule salary = new RecurringRule(USER_ID, "INCOME", "Salary", 2500.0, RecurrenceFrequency.WEEKLY,
+                LocalDate.of(2024, 5, 1), "salary");
+        salary.setIntervalCount(2);
+        recurringRuleService.saveRules(List.of(rent, salary));
+
+        RecurringRunResult first = materializer.materialize(LocalDate.of(2024, 5, 15));
+        assertThat(first.rules()).isEqualTo(2);
+        assertThat(first.expenseRows()).isEqualTo(4);
+        assertThat(first.incomeRows()).isEqualTo(2);
+        assertThat(first.lagSeconds()).isZero();
+
+        RecurringRunResult again = materializer.materialize(LocalDate.of(2024, 5, 15));
+        assertThat(again.rules()).isZero();
+
+        materializer.materialize(LocalDate.of(2024, 5, 29));
+
+        assertThat(expenseService.getExpenseByUserId(USER_ID)).extracting(ExpenseView::date).containsExactlyInAnyOrder(
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30));
+        assertThat(incomeService.getIncomeByUserId(USER_ID)).extracting(IncomeView::date).containsExactlyInAnyOrder(
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 15), LocalDate.of(2024, 5, 29));
+        assertThat(recurringRuleService.getRulesByUserId(USER_ID)).extracting(RecurringRule::getNextDate)
+                .containsExactly(null, LocalDate.of(2024, 6, 12));
+    }
+}
@@ -0,0 +1,104 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The test database itself stands in for a replica that is always caught up; the second URL names
+// an in-memory database that does not exist, so every connection attempt to it fails.
+@SpringBootTest(properties = {
+        "financedashboard.replicas.urls=${spring.datasource.url},jdbc:h2:mem:missing-replica;IFEXISTS=TRUE",
+        "financedashboard.replicas.connection-timeout=PT0.3S",
+        "financedashboard.replicas.read-your-writes=PT1M"
+})
+@AutoConfigureMockMvc
+@Import(ReplicaRoutingTest.PinProbeController.class)
+class ReplicaRoutingTest {
+
+    private static final long WRITER_ID = 8201L;
+    private static final long READER_ID = 8202L;
+    private static final long ASYNC_WRITER_ID = 8203L;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readOnlyTransactionsGoToTheHealthyReplica() {
+        replicaDataSource.checkHealth();
+        assertThat(replicaDataSource.status())
+                .extracting(ReplicaDataSource.ReplicaStatus::healthy)
+                .containsExactly(true, false);
+
+        long before = replicaReads();
+        for (int i = 0; i < 4; i++) {
+            expenseService.getExpensePage(READER_ID, null, null, null, null, 10);
+        }
+        assertThat(replicaReads()).isEqualTo(before + 4);
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() throws Exception {
+        replicaDataSource.checkHealth();
+        expenseService.saveExpense(List.of(new Expense(WRITER_ID, "Food", 12.5, LocalDate.of(2024, 3, 1), "lunch")));
+
+        long before = replicaReads();
+        mockMvc.perform(get("/api/expense/" + WRITER_ID + "/page")).andExpect(status().isOk());
+        assertThat(replicaReads()).isEqualTo(before);
+
+        mockMvc.perform(get("/api/expense/" + READER_ID + "/page")).andExpect(status().isOk());
+        assertThat(replicaReads()).isGreaterThan(before);
+    }
+
+    // The request thread drops the pin as soon as the handler goes async; the streaming body, run
+    // on another thread, still sees it.
+    @Test
+    void asyncRequestsCarryThePinAndLeaveTheThreadClean() throws Exception {
+        expenseService.saveExpense(List.of(new Expense(ASYNC_WRITER_ID, "Food", 4.0, LocalDate.of(2024, 3, 2), "tea")));
+
+        MvcResult writer = mockMvc.perform(get("/api/pin-probe/" + ASYNC_WRITER_ID)).andReturn();
+        assertThat(writer.getRequest().isAsyncStarted()).isTrue();
+        assertThat(ReplicaRouting.isPrimaryRequired()).isFalse();
+        assertThat(mockMvc.perform(asyncDispatch(writer)).andReturn().getResponse().getContentAsString()).isEqualTo("true");
+        assertThat(ReplicaRouting.isPrimaryRequired()).isFalse();
+
+        MvcResult reader = mockMvc.perform(get("/api/pin-probe/" + READER_ID)).andReturn();
+        assertThat(mockMvc.perform(asyncDispatch(reader)).andReturn().getResponse().getContentAsString()).isEqualTo("false");
+    }
+
+    private long replicaReads() {
+        return replicaDataSource.status().get(0).reads();
+    }
+
+    // Streams whether the thread writing the body is pinned to the primary.
+    @RestController
+    static class PinProbeController {
+
+        @GetMapping("/api/pin-probe/{userId}")
+        StreamingResponseBody probe(@PathVariable Long userId) {
+            return out -> out.write(String.valueOf(ReplicaRouting.isPrimaryRequired()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
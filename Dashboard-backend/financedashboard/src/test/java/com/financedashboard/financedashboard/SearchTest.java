@@ -0,0 +1,65 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.CursorPage;
+import com.financedashboard.dto.SearchHit;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.SearchService;
+import com.financedashboard.service.event.UserDataKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 has no full-text search, so this covers the in-process index behind /api/search.
+@SpringBootTest
+class SearchTest {
+
+    private static final long USER_ID = 8001L;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private SearchService searchService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IncomeService incomeService;
+
+    @Test
+    void ranksMatchesWithinOneUserAndToleratesTypos() {
+        expenseService.saveExpense(List.of(
+                new Expense(USER_ID, "Groceries", 40.0, DAY, "weekly shop"),
+                new Expense(USER_ID, "Food", 12.0, DAY, "groceries at the market"),
+                new Expense(USER_ID, "Travel", 8.0, DAY, "train ticket"),
+                new Expense(8002L, "Groceries", 99.0, DAY, "someone else's shop")));
+        incomeService.saveIncome(List.of(new Income(USER_ID, "Refund", 5.0, DAY, "groceries refund")));
+
+        CursorPage<SearchHit> page = searchService.search(USER_ID, "grocries", null, null, 2);
+        assertThat(page.items()).extracting(SearchHit::category).containsExactly("Groceries", "Food");
+        assertThat(page.hasNext()).isTrue();
+
+        CursorPage<SearchHit> rest = searchService.search(USER_ID, "grocries", null, page.nextCursor(), 2);
+        assertThat(rest.items()).extracting(SearchHit::kind).containsExactly(UserDataKind.INCOME);
+        assertThat(rest.hasNext()).isFalse();
+
+        assertThat(searchService.search(USER_ID, "groceries", UserDataKind.INCOME, null, 10).items())
+                .extracting(SearchHit::description).containsExactly("groceries refund");
+    }
+
+    @Test
+    void newRowsAreFoundAfterTheyAreSaved() {
+        long userId = 8003L;
+        expenseService.saveExpense(List.of(new Expense(userId, "Rent", 900.0, DAY, "march rent")));
+        assertThat(searchService.search(userId, "gym", null, null, 10).items()).isEmpty();
+
+        expenseService.saveExpense(List.of(new Expense(userId, "Health", 30.0, DAY, "gym membership")));
+        assertThat(searchService.search(userId, "gym", null, null, 10).items())
+                .extracting(SearchHit::description).containsExactly("gym membership");
+    }
+}
@@ -0,0 +1,22 @@
+package com.financedashboard.financedashboard;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Fails a test when the work it wraps issues more statements than budgeted, listing the
+// statements it ran.
+final class StatementBudget {
+
+    private StatementBudget() {}
+
+    static <T> T atMost(int budget, Supplier<T> work) {
+        try (StatementCounter.Scope scope = StatementCounter.open(true)) {
+            T result = work.get();
+            assertThat(scope.count())
+                    .as("statements issued, budget %d: %s", budget, scope.statements())
+                    .isLessThanOrEqualTo(budget);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "financedashboard.sql.warn-threshold=0",
+        "financedashboard.sql.sample-rate=1.0"
+})
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+    private static final long USER_ID = 8401L;
+    private static final long REQUEST_USER_ID = 8402L;
+    private static final long EXPORT_USER_ID = 8403L;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 1,200 rows: about 24 sequence fetches (allocation size 50), three 500-row insert batches, a
+    // rollup batch per chunk and the two data version bumps; a per-row insert would be over a
+    // thousand. The delete is a sum and a delete per 1,000 ids, one rollup batch and the two bumps.
+    @Test
+    void bulkSaveAndDeleteStayWithinBudget() {
+        List<Expense> saved = StatementBudget.atMost(40, () -> expenseService.saveExpense(TestRows.expenses(USER_ID, 1_200)));
+
+        List<Long> ids = saved.stream().map(Expense::getId).toList();
+        int deleted = StatementBudget.atMost(7, () -> expenseService.deleteAllExpenses(USER_ID, ids));
+        assertThat(deleted).isEqualTo(1_200);
+    }
+
+    @Test
+    void requestsOverTheThresholdAreCounted() throws Exception {
+        expenseService.saveExpense(TestRows.expenses(REQUEST_USER_ID, 3));
+
+        mockMvc.perform(get("/api/expense/" + REQUEST_USER_ID + "/page")).andExpect(status().isOk());
+
+        String uri = "/api/expense/{userId}/page";
+        assertThat(meterRegistry.get("financedashboard.sql.statements").tag("uri", uri).summary().totalAmount())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("financedashboard.sql.budget.exceeded").tag("uri", uri).counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    // The export handler only returns a StreamingResponseBody; its three streaming queries run on
+    // the async thread and must still be counted for the request.
+    @Test
+    void streamedResponsesCountTheirAsyncStatements() throws Exception {
+        expenseService.saveExpense(TestRows.expenses(EXPORT_USER_ID, 3));
+
+        MvcResult started = mockMvc.perform(get("/api/users/" + EXPORT_USER_ID + "/export")).andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("financedashboard.sql.statements")
+                .tag("uri", "/api/users/{id}/export").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,100 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.IncomeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Compares the full-list path the charts use today with the aggregated summary endpoint.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SummaryPayloadBenchmarkTest {
+
+    private static final long USER_ID = 4242L;
+    private static final int ROWS = 20_000;
+    private static final int ITERATIONS = 20;
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", "Utilities", "Shopping", "Health"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IncomeService incomeService;
+    @Autowired
+    private ExpenseService expenseService;
+
+    @BeforeAll
+    void seed() {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<Expense> expenses = new ArrayList<>(ROWS);
+        List<Income> incomes = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate date = start.plusDays(i % 1500);
+            String category = CATEGORIES[i % CATEGORIES.length];
+            expenses.add(new Expense(USER_ID, category, 10.0 + i % 90, date, "expense " + i));
+            incomes.add(new Income(USER_ID, category, 25.0 + i % 70, date, "income " + i));
+        }
+        expenseService.saveExpense(expenses);
+        incomeService.saveIncome(incomes);
+    }
+
+    @Test
+    void summaryIsSmallerAndFasterThanFullLists() throws Exception {
+        Result full = measure("/api/income/" + USER_ID, "/api/expense/" + USER_ID);
+        Result category = measure("/api/users/" + USER_ID + "/summary?groupBy=category");
+        Result month = measure("/api/users/" + USER_ID + "/summary?groupBy=month");
+        Result week = measure("/api/users/" + USER_ID + "/summary?groupBy=week");
+
+        System.out.printf("%-18s %12s %12s%n", "path", "bytes", "avg ms");
+        print("full lists", full);
+        print("summary/category", category);
+        print("summary/month", month);
+        print("summary/week", week);
+
+        assertTrue(category.bytes < full.bytes / 100);
+        assertTrue(month.bytes < full.bytes / 10);
+        assertTrue(week.bytes < full.bytes / 10);
+    }
+
+    private Result measure(String... urls) throws Exception {
+        long bytes = 0;
+        for (String url : urls) {
+            bytes += fetch(url);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (String url : urls) {
+                fetch(url);
+            }
+        }
+        return new Result(bytes, (System.nanoTime() - started) / 1_000_000.0 / ITERATIONS);
+    }
+
+    private long fetch(String url) throws Exception {
+        return mockMvc.perform(get(url)).andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("%-18s %12d %12.2f%n", label, result.bytes, result.avgMillis);
+    }
+
+    private record Result(long bytes, double avgMillis) {
+    }
+}
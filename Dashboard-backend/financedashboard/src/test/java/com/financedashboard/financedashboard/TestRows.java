@@ -0,0 +1,24 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.entities.Expense;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Filler expenses for tests that need many rows but not particular values: twelve categories,
+// whole amounts from 1 to 500, spread over 2024.
+public final class TestRows {
+
+    public static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private TestRows() {}
+
+    public static List<Expense> expenses(long userId, int count) {
+        List<Expense> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Expense(userId, "cat" + (i % 12), 1.0 + i % 500, FIRST_DAY.plusDays(i % 366), "row " + i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,123 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.FinancedashboardApplication;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Starts the app once with Tomcat's platform-thread pool and once with virtual threads, fires the
+// same burst of paged expense reads at each, and reports throughput, p99 latency and rejections.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class ThreadModeLoadTest {
+
+    private static final long USER_ID = 7301L;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext app = start(virtual)) {
+                if (!virtual) {
+                    seed(app.getBean(ExpenseService.class));
+                }
+                results.add(run(virtual ? "virtual" : "platform", app.getEnvironment().getProperty("local.server.port")));
+            }
+        }
+
+        System.out.printf("%-10s %12s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "503s");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.0f %10.1f %10.1f %10d%n",
+                    result.mode, result.throughput, result.p50Millis, result.p99Millis, result.rejected);
+        }
+        assertThat(results).allSatisfy(result -> assertThat(result.failed).isZero());
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(FinancedashboardApplication.class)
+                .properties("server.port=0",
+                        "spring.jmx.enabled=false",
+                        "server.tomcat.threads.max=50",
+                        "spring.threads.virtual.enabled=" + virtual)
+                .run();
+    }
+
+    private static void seed(ExpenseService expenseService) {
+        List<Expense> rows = new ArrayList<>();
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < 5_000; i++) {
+            rows.add(new Expense(USER_ID, "cat" + (i % 8), 5.0 + i % 200, start.plusDays(i % 365), "row " + i));
+        }
+        expenseService.saveExpense(rows);
+    }
+
+    private static Result run(String mode, String port) throws Exception {
+        URI uri = URI.create("http://localhost:" + port + "/api/expense/" + USER_ID + "/page?size=200");
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+            long started = System.nanoTime();
+            List<Future<?>> done = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                done.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 503) {
+                                rejected.incrementAndGet();
+                            } else if (status != 200) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            return new Result(mode, latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    rejected.get(), failed.get());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1] / 1_000_000.0;
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, int rejected, int failed) {
+    }
+}
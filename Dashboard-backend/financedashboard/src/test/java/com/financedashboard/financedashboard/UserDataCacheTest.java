@@ -0,0 +1,44 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.ExpenseView;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserDataCacheTest {
+
+    private static final long USER_ID = 7001L;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void writesInvalidateTheUsersCachedList() {
+        expenseService.saveExpense(List.of(new Expense(USER_ID, "Food", 12.5, LocalDate.of(2024, 5, 1), "lunch")));
+        assertThat(expenseService.getExpenseByUserId(USER_ID)).hasSize(1);
+        assertThat(cacheManager.getCache(CacheConfig.EXPENSES_BY_USER).get(USER_ID)).isNotNull();
+
+        List<Expense> saved = expenseService.saveExpense(
+                List.of(new Expense(USER_ID, "Rent", 900.0, LocalDate.of(2024, 5, 2), "may")));
+        assertThat(cacheManager.getCache(CacheConfig.EXPENSES_BY_USER).get(USER_ID)).isNull();
+        assertThat(expenseService.getExpenseByUserId(USER_ID)).hasSize(2);
+
+        Expense changed = new Expense(USER_ID, "Rent", 950.0, LocalDate.of(2024, 5, 2), "may");
+        expenseService.updateExpense(saved.get(0).getId(), changed);
+        assertThat(expenseService.getExpenseByUserId(USER_ID)).extracting(ExpenseView::amount).contains(950.0);
+
+        expenseService.deleteExpense(saved.get(0).getId());
+        assertThat(expenseService.getExpenseByUserId(USER_ID)).hasSize(1);
+    }
+}
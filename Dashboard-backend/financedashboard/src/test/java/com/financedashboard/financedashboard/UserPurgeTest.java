@@ -0,0 +1,87 @@
+package com.financedashboard.financedashboard;
+
+import com.financedashboard.dto.PurgeJobStatus;
+import com.financedashboard.dto.PurgeState;
+import com.financedashboard.entities.Expense;
+import com.financedashboard.entities.Goal;
+import com.financedashboard.entities.Income;
+import com.financedashboard.service.ExpenseService;
+import com.financedashboard.service.GoalService;
+import com.financedashboard.service.IncomeService;
+import com.financedashboard.service.PurgeService;
+import com.financedashboard.service.event.UserDataKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A small chunk size so every table takes several purge transactions.
+@SpringBootTest(properties = "financedashboard.purge.chunk-size=100")
+class UserPurgeTest {
+
+    private static final int ROWS = 250;
+
+    @Autowired
+    private PurgeService purgeService;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IncomeService incomeService;
+    @Autowired
+    private GoalService goalService;
+
+    @Test
+    void purgeRemovesEveryTrackerRowOfTheUser() {
+        long userId = 7501L;
+        seed(userId);
+        expenseService.saveExpense(List.of(new Expense(7502L, "Food", 5.0, LocalDate.of(2024, 1, 1), "kept")));
+
+        PurgeJobStatus status = purgeService.purgeUser(userId);
+
+        assertThat(status.state()).isEqualTo(PurgeState.SUCCEEDED);
+        assertThat(status.rowsDeleted()).containsEntry(UserDataKind.EXPENSE, (long) ROWS)
+                .containsEntry(UserDataKind.INCOME, (long) ROWS)
+                .containsEntry(UserDataKind.GOAL, 3L);
+        assertThat(expenseService.getExpenseByUserId(userId)).isEmpty();
+        assertThat(incomeService.getIncomeByUserId(userId)).isEmpty();
+        assertThat(goalService.getGoalByUserId(userId)).isEmpty();
+        assertThat(expenseService.getExpenseByUserId(7502L)).hasSize(1);
+    }
+
+    @Test
+    void asyncPurgeReportsProgressThroughItsJob() throws InterruptedException {
+        long userId = 7503L;
+        seed(userId);
+
+        PurgeJobStatus started = purgeService.startPurge(userId);
+        PurgeJobStatus status = purgeService.getJob(started.jobId());
+        for (int i = 0; i < 100 && status.state() != PurgeState.SUCCEEDED && status.state() != PurgeState.FAILED; i++) {
+            Thread.sleep(100);
+            status = purgeService.getJob(started.jobId());
+        }
+
+        assertThat(status.state()).isEqualTo(PurgeState.SUCCEEDED);
+        assertThat(status.totalRows()).isEqualTo(2L * ROWS + 3);
+        assertThat(expenseService.getExpenseByUserId(userId)).isEmpty();
+    }
+
+    private void seed(long userId) {
+        List<Expense> expenses = new ArrayList<>();
+        List<Income> incomes = new ArrayList<>();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            expenses.add(new Expense(userId, "cat" + (i % 4), 2.0 + i, start.plusDays(i), "e" + i));
+            incomes.add(new Income(userId, "salary", 100.0 + i, start.plusDays(i), "i" + i));
+        }
+        expenseService.saveExpense(expenses);
+        incomeService.saveIncome(incomes);
+        for (int i = 0; i < 3; i++) {
+            goalService.saveGoal(new Goal(userId, "cat" + i, 500.0, start, start.plusMonths(6), "g" + i, "Budget"));
+        }
+    }
+}
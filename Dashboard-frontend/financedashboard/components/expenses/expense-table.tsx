@@ -21,6 +21,7 @@ import {
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from "@/components/ui/table"
 import { toast } from "@/components/ui/use-toast"
 import { useCurrency } from "@/hooks/use-currency"
+import { useUser } from "@/hooks/use-user"
 import { cn } from "@/lib/utils"
 import { deleteExpenses, updateExpense } from "@/lib/api"
 
@@ -40,6 +41,7 @@ interface ExpenseTableProps {
 
 export function ExpenseTable({ expenses, onExpenseDeleted, onExpenseUpdated }: ExpenseTableProps) {
   const { formatAmount } = useCurrency()
+  const { userId } = useUser()
   const [selectedExpenses, setSelectedExpenses] = useState<number[]>([])
   const [editingExpense, setEditingExpense] = useState<number | null>(null)
   const [editForm, setEditForm] = useState({
@@ -81,7 +83,7 @@ export function ExpenseTable({ expenses, onExpenseDeleted, onExpenseUpdated }: E
     }
 
     try {
-      await deleteExpenses(selectedExpenses)
+      await deleteExpenses(String(userId), selectedExpenses)
       toast({
         title: "Expenses deleted successfully",
         description: `${selectedExpenses.length} expense(s) have been removed.`,
@@ -328,7 +330,7 @@ export function ExpenseTable({ expenses, onExpenseDeleted, onExpenseUpdated }: E
                             className="text-red-600"
                             onClick={async () => {
                               try {
-                                await deleteExpenses([item.id])
+                                await deleteExpenses(String(userId), [item.id])
                                 toast({
                                   title: "Expense deleted successfully",
                                   description: "The expense record has been removed.",
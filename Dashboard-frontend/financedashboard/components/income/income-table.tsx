@@ -21,6 +21,7 @@ import {
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from "@/components/ui/table"
 import { toast } from "@/components/ui/use-toast"
 import { useCurrency } from "@/hooks/use-currency"
+import { useUser } from "@/hooks/use-user"
 import { cn } from "@/lib/utils"
 import { deleteIncomes, updateIncome } from "@/lib/api"
 
@@ -40,6 +41,7 @@ interface IncomeTableProps {
 
 export function IncomeTable({ incomes, onIncomeDeleted, onIncomeUpdated }: IncomeTableProps) {
   const { formatAmount } = useCurrency()
+  const { userId } = useUser()
   const [selectedIncomes, setSelectedIncomes] = useState<number[]>([])
   const [editingIncome, setEditingIncome] = useState<number | null>(null)
   const [editForm, setEditForm] = useState({
@@ -81,7 +83,7 @@ export function IncomeTable({ incomes, onIncomeDeleted, onIncomeUpdated }: Incom
     }
 
     try {
-      await deleteIncomes(selectedIncomes)
+      await deleteIncomes(String(userId), selectedIncomes)
       toast({
         title: "Incomes deleted successfully",
         description: `${selectedIncomes.length} income(s) have been removed.`,
@@ -320,7 +322,7 @@ export function IncomeTable({ incomes, onIncomeDeleted, onIncomeUpdated }: Incom
                             className="text-red-600"
                             onClick={async () => {
                               try {
-                                await deleteIncomes([item.id])
+                                await deleteIncomes(String(userId), [item.id])
                                 toast({
                                   title: "Income deleted successfully",
                                   description: "The income record has been removed.",
@@ -61,8 +61,8 @@ export async function updateIncome(incomeId: number, incomeData: any) {
   })
 }
 
-export async function deleteIncomes(ids: number[]) {
-  return apiCall(`/income`, {
+export async function deleteIncomes(userId: string, ids: number[]) {
+  return apiCall(`/income?userId=${encodeURIComponent(userId)}`, {
     method: "DELETE",
     body: JSON.stringify(ids),
   })
@@ -87,8 +87,8 @@ export async function updateExpense(expenseId: number, expenseData: any) {
   })
 }
 
-export async function deleteExpenses(ids: number[]) {
-  return apiCall(`/expense`, {
+export async function deleteExpenses(userId: string, ids: number[]) {
+  return apiCall(`/expense?userId=${encodeURIComponent(userId)}`, {
     method: "DELETE",
     body: JSON.stringify(ids),
   })
@@ -1,3 +1,6 @@
+-- Reference DDL only: the schema is now managed by the Flyway scripts in
+-- Dashboard-backend/financedashboard/src/main/resources/db/migration.
+
 CREATE TABLE IF NOT EXISTS users
 (
     id bigint NOT NULL,